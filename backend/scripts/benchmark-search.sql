@@ -0,0 +1,41 @@
+-- scripts/benchmark-search.sql
+-- Benchmark da busca por substring em álbuns/artistas com 1M de linhas
+--
+-- Uso (com os containers em execução):
+--   docker exec -i database psql -U seplag -d musicdb < scripts/benchmark-search.sql
+--
+-- Tudo roda dentro de uma transação finalizada com ROLLBACK: nenhum dado permanece no banco.
+
+\timing on
+
+BEGIN;
+
+INSERT INTO albums (id, title, title_search, release_year)
+SELECT nextval('albums_seq'), 'Álbum ' || md5(g::text) || ' vol ' || g, 'album ' || md5(g::text) || ' vol ' || g, 1950 + (g % 75)
+FROM generate_series(1, 1000000) AS g;
+
+INSERT INTO artists (id, name, name_search, is_band)
+SELECT nextval('artists_seq'), 'Artista ' || md5(g::text), 'artista ' || md5(g::text), (g % 2 = 0)
+FROM generate_series(1, 1000000) AS g;
+
+ANALYZE albums;
+ANALYZE artists;
+
+-- 1) Com índice trigram (idx_albums_title_search_trgm / idx_artists_name_search_trgm)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM albums WHERE title_search LIKE '%3f2a9%';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name FROM artists WHERE name_search LIKE '%c4ca4%';
+
+-- 2) Sem índice (seq scan forçado) para comparação
+SET LOCAL enable_bitmapscan = off;
+SET LOCAL enable_indexscan = off;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM albums WHERE title_search LIKE '%3f2a9%';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name FROM artists WHERE name_search LIKE '%c4ca4%';
+
+ROLLBACK;
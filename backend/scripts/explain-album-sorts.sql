@@ -0,0 +1,42 @@
+-- scripts/explain-album-sorts.sql
+-- Confere que cada ordenação aceita em /bands e /solo (AlbumSort) vira varredura de índice com LIMIT,
+-- sem nó Sort no plano, sobre 1M de linhas em album_catalog
+--
+-- Uso (com os containers em execução):
+--   docker exec -i database psql -U seplag -d musicdb < scripts/explain-album-sorts.sql
+--
+-- Tudo roda dentro de uma transação finalizada com ROLLBACK: nenhum dado permanece no banco.
+
+\timing on
+
+BEGIN;
+
+INSERT INTO albums (id, title, title_search, release_year)
+SELECT nextval('albums_seq'), 'Álbum ' || md5(g::text), 'album ' || md5(g::text), 1950 + (g % 75)
+FROM generate_series(1, 1000000) AS g;
+
+INSERT INTO album_catalog (album_id, title, release_year, has_band, has_solo, artist_count, cover_count, search_text)
+SELECT id, title, release_year, (id % 2 = 0), (id % 2 = 1), 1, 0, title_search
+FROM albums;
+
+ANALYZE album_catalog;
+
+-- title (asc / desc)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT album_id FROM album_catalog WHERE has_band ORDER BY title ASC, album_id ASC LIMIT 10 OFFSET 100;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT album_id FROM album_catalog WHERE has_solo ORDER BY title DESC, album_id DESC LIMIT 10;
+
+-- releaseYear
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT album_id FROM album_catalog WHERE has_band ORDER BY release_year ASC, album_id ASC LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT album_id FROM album_catalog WHERE has_solo ORDER BY release_year DESC, album_id DESC LIMIT 10;
+
+-- id
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT album_id FROM album_catalog WHERE has_band ORDER BY album_id DESC LIMIT 10;
+
+ROLLBACK;
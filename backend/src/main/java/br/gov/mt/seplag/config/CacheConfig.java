@@ -0,0 +1,53 @@
+package br.gov.mt.seplag.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+// Interceptor de cache fica por fora do transacional: hits não abrem transação
+// e as evicções acontecem somente após o commit.
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String ALBUMS_CACHE = "albums";
+    public static final String ARTISTS_CACHE = "artists";
+
+    @Value("${cache.albums.max-size:10000}")
+    private long albumsMaxSize;
+
+    @Value("${cache.albums.ttl-minutes:10}")
+    private long albumsTtlMinutes;
+
+    @Value("${cache.artists.max-size:5000}")
+    private long artistsMaxSize;
+
+    @Value("${cache.artists.ttl-minutes:10}")
+    private long artistsTtlMinutes;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        cacheManager.registerCustomCache(ALBUMS_CACHE, Caffeine.newBuilder()
+                .maximumSize(albumsMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(albumsTtlMinutes))
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(ARTISTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(artistsMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(artistsTtlMinutes))
+                .recordStats()
+                .build());
+
+        return cacheManager;
+    }
+}
@@ -0,0 +1,37 @@
+package br.gov.mt.seplag.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+// Regiões do cache L2 no Micrometer (cache.gets/puts/evictions, tag cache=<região>).
+// Os contadores vêm das próprias regiões JCache (monitoring.statistics em application.conf),
+// sem depender de hibernate.generate_statistics.
+@Configuration
+public class HibernateCacheMetricsConfig {
+
+    @Bean
+    public MeterBinder hibernateCacheRegionMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache()
+                    .getRegionFactory();
+            if (!(regionFactory instanceof JCacheRegionFactory jcache)) return;
+
+            CacheManager cacheManager = jcache.getCacheManager();
+            for (String name : cacheManager.getCacheNames()) {
+                // Mesmas chaves de tag dos caches do Spring: o Prometheus exige o mesmo conjunto por métrica
+                JCacheMetrics.monitor(registry, cacheManager.getCache(name),
+                        Tags.of("cache.manager", "hibernate", "name", name));
+            }
+        };
+    }
+}
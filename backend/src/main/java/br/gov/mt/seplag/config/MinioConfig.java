@@ -29,6 +29,9 @@ public class MinioConfig {
     @Value("${minio.bucket-name}")
     private String bucketName;
 
+    @Value("${minio.region:us-east-1}")
+    private String region;
+
     @Bean
     @Primary
     @Qualifier("minioInternalClient")
@@ -44,14 +47,16 @@ public class MinioConfig {
         return client;
     }
 
+    // Assina URLs para o host público (a assinatura inclui o host). Com a região fixa,
+    // gerar URL pré-assinada não faz nenhuma chamada de rede.
     @Bean
     @Qualifier("minioPublicClient")
     public MinioClient minioPublicClient() {
-        log.info("MinIO PUBLIC (rewrite host to {}), signing via INTERNAL endpoint: {} bucket={}",
-                minioPublicUrl, minioInternalUrl, bucketName);
+        log.info("MinIO PUBLIC (URLs pré-assinadas): {} region={} bucket={}", minioPublicUrl, region, bucketName);
 
         return MinioClient.builder()
-                .endpoint(minioInternalUrl)
+                .endpoint(minioPublicUrl)
+                .region(region)
                 .credentials(accessKey, secretKey)
                 .build();
     }
@@ -1,23 +1,37 @@
 package br.gov.mt.seplag.controller;
 
+import br.gov.mt.seplag.dto.AlbumBatchResponse;
+import br.gov.mt.seplag.dto.AlbumFilter;
 import br.gov.mt.seplag.dto.AlbumRequest;
 import br.gov.mt.seplag.dto.AlbumResponse;
+import br.gov.mt.seplag.dto.AlbumSimpleResponse;
+import br.gov.mt.seplag.dto.BatchGetResponse;
+import br.gov.mt.seplag.dto.CursorPageResponse;
 import br.gov.mt.seplag.dto.PageResponse;
+import br.gov.mt.seplag.exception.BadRequestException;
+import br.gov.mt.seplag.service.AlbumImportService;
+import br.gov.mt.seplag.service.AlbumSort;
 import br.gov.mt.seplag.service.AlbumService;
+import br.gov.mt.seplag.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -28,14 +42,52 @@ import java.util.List;
 public class AlbumController {
 
     private final AlbumService albumService;
+    private final AlbumImportService albumImportService;
 
     @GetMapping
     @Operation(summary = "Listar álbuns", description = "Retorna todos os álbuns cadastrados")
-    public ResponseEntity<List<AlbumResponse>> findAll() {
+    public ResponseEntity<List<AlbumResponse>> findAll(WebRequest webRequest) {
+        String etag = albumService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         List<AlbumResponse> albums = albumService.findAll();
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(albums);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar álbuns por IDs",
+            description = "Retorna os álbuns na ordem dos IDs informados (máximo 100) e lista os IDs não encontrados")
+    public ResponseEntity<BatchGetResponse<AlbumResponse>> findAllByIds(
+            @Parameter(description = "IDs separados por vírgula")
+            @RequestParam List<Long> ids) {
+        BatchGetResponse<AlbumResponse> albums = albumService.findAllByIds(ids);
         return ResponseEntity.ok(albums);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar catálogo",
+            description = "Exporta todos os álbuns com artistas e URLs de capas em streaming (ndjson ou csv)")
+    public void export(
+            @Parameter(description = "Formato de saída (ndjson ou csv)")
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+
+        String contentType = switch (format.toLowerCase()) {
+            case "ndjson" -> "application/x-ndjson";
+            case "csv" -> "text/csv";
+            default -> throw new BadRequestException("Formato de exportação não suportado: " + format);
+        };
+
+        response.setContentType(contentType);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"albums." + format.toLowerCase() + "\"");
+
+        albumService.exportAll(format, response.getOutputStream());
+    }
+
     @GetMapping("/bands")
     @Operation(summary = "Listar álbuns de bandas", description = "Retorna álbuns de bandas com paginação")
     public ResponseEntity<PageResponse<AlbumResponse>> findAlbumsByBands(
@@ -43,19 +95,22 @@ public class AlbumController {
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamanho da página")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Campo para ordenação")
+            @Parameter(description = "Campo para ordenação (title, releaseYear ou id)")
             @RequestParam(defaultValue = "title") String sort,
             @Parameter(description = "Direção da ordenação (asc ou desc)")
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            WebRequest webRequest) {
 
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc")
-                ? Sort.Direction.DESC
-                : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, AlbumSort.resolve(sort, direction));
+
+        String etag = albumService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
         PageResponse<AlbumResponse> albums = albumService.findAlbumsByBands(pageable);
 
-        return ResponseEntity.ok(albums);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(albums);
     }
 
     @GetMapping("/solo")
@@ -64,15 +119,118 @@ public class AlbumController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "title") String sort,
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            WebRequest webRequest) {
+
+        Pageable pageable = PageRequest.of(page, size, AlbumSort.resolve(sort, direction));
 
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc")
-                ? Sort.Direction.DESC
-                : Sort.Direction.ASC;
+        String etag = albumService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
         PageResponse<AlbumResponse> albums = albumService.findAlbumsBySoloArtists(pageable);
 
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(albums);
+    }
+
+    @GetMapping("/query")
+    @Operation(summary = "Consultar álbuns com filtros combinados",
+            description = "Combina filtros de título, intervalo de anos, artista e tipo (banda/solo) em uma única consulta paginada")
+    public ResponseEntity<PageResponse<AlbumResponse>> query(
+            @Parameter(description = "Trecho do título (ignora maiúsculas e acentos)")
+            @RequestParam(required = false) String title,
+            @Parameter(description = "Ano de lançamento inicial (inclusive)")
+            @RequestParam(required = false) Integer yearFrom,
+            @Parameter(description = "Ano de lançamento final (inclusive)")
+            @RequestParam(required = false) Integer yearTo,
+            @Parameter(description = "ID de um artista do álbum")
+            @RequestParam(required = false) Long artistId,
+            @Parameter(description = "Tipo de artista (band ou solo; vazio para todos)")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Número da página (começa em 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página (máximo 100)")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo para ordenação (title, releaseYear ou id)")
+            @RequestParam(defaultValue = "title") String sort,
+            @Parameter(description = "Direção da ordenação (asc ou desc)")
+            @RequestParam(defaultValue = "asc") String direction,
+            WebRequest webRequest) {
+
+        AlbumFilter filter = AlbumFilter.builder()
+                .title(title)
+                .yearFrom(yearFrom)
+                .yearTo(yearTo)
+                .artistId(artistId)
+                .band(parseArtistType(type))
+                .build();
+        Pageable pageable = PageRequest.of(page, size, AlbumSort.resolve(sort, direction));
+
+        String etag = albumService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
+        PageResponse<AlbumResponse> albums = albumService.query(filter, pageable);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(albums);
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Listar resumo de álbuns",
+            description = "Retorna título, ano, nomes dos artistas e uma capa por álbum, em uma única consulta agregada")
+    public ResponseEntity<PageResponse<AlbumSimpleResponse>> findSummaries(
+            @Parameter(description = "Filtro por tipo de artista (band ou solo; vazio para todos)")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Número da página (começa em 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página (máximo 100)")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Direção da ordenação por título (asc ou desc)")
+            @RequestParam(defaultValue = "asc") String direction,
+            WebRequest webRequest) {
+
+        Boolean band = parseArtistType(type);
+
+        String etag = albumService.catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
+        PageResponse<AlbumSimpleResponse> albums =
+                albumService.findSummaries(band, page, size, direction.equalsIgnoreCase("desc"));
+
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(albums);
+    }
+
+    @GetMapping("/bands/cursor")
+    @Operation(summary = "Listar álbuns de bandas (cursor)",
+            description = "Retorna álbuns de bandas ordenados por título com paginação por cursor, sem contagem total")
+    public ResponseEntity<CursorPageResponse<AlbumResponse>> findAlbumsByBandsAfter(
+            @Parameter(description = "Cursor opaco retornado em nextCursor (vazio para a primeira página)")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Tamanho da página (máximo 100)")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Direção da ordenação (asc ou desc)")
+            @RequestParam(defaultValue = "asc") String direction) {
+
+        CursorPageResponse<AlbumResponse> albums =
+                albumService.findAlbumsByBandsAfter(after, size, direction.equalsIgnoreCase("desc"));
+
+        return ResponseEntity.ok(albums);
+    }
+
+    @GetMapping("/solo/cursor")
+    @Operation(summary = "Listar álbuns de artistas solo (cursor)",
+            description = "Retorna álbuns de artistas solo ordenados por título com paginação por cursor, sem contagem total")
+    public ResponseEntity<CursorPageResponse<AlbumResponse>> findAlbumsBySoloArtistsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "asc") String direction) {
+
+        CursorPageResponse<AlbumResponse> albums =
+                albumService.findAlbumsBySoloArtistsAfter(after, size, direction.equalsIgnoreCase("desc"));
+
         return ResponseEntity.ok(albums);
     }
 
@@ -80,11 +238,11 @@ public class AlbumController {
     @Operation(summary = "Buscar álbum", description = "Busca álbum por ID")
     public ResponseEntity<AlbumResponse> findById(@PathVariable Long id) {
         AlbumResponse album = albumService.findById(id);
-        return ResponseEntity.ok(album);
+        return ResponseEntity.ok().eTag(ETags.forAlbum(album)).cacheControl(ETags.REVALIDATE).body(album);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Buscar por título", description = "Busca álbuns por título (case-insensitive)")
+    @Operation(summary = "Buscar por título", description = "Busca álbuns por título ou nome de artista (ignora maiúsculas e acentos)")
     public ResponseEntity<List<AlbumResponse>> searchByTitle(@RequestParam String title) {
         List<AlbumResponse> albums = albumService.searchByTitle(title);
         return ResponseEntity.ok(albums);
@@ -104,6 +262,28 @@ public class AlbumController {
         return ResponseEntity.status(HttpStatus.CREATED).body(album);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Importar álbuns em lote",
+            description = "Cadastra vários álbuns de uma vez, gravando em blocos e retornando o resultado de cada item")
+    public ResponseEntity<AlbumBatchResponse> importBatch(
+            @RequestBody List<AlbumRequest> requests,
+            Authentication authentication) {
+
+        AlbumBatchResponse response = albumImportService.importAll(requests, authentication.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/batch", consumes = "application/x-ndjson")
+    @Operation(summary = "Importar álbuns em lote (NDJSON)",
+            description = "Mesmo que a importação em lote, recebendo um álbum por linha")
+    public ResponseEntity<AlbumBatchResponse> importBatchNdjson(
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+
+        AlbumBatchResponse response = albumImportService.importNdjson(request.getInputStream(), authentication.getName());
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar álbum", description = "Atualiza dados de um álbum existente")
     public ResponseEntity<AlbumResponse> update(
@@ -121,4 +301,13 @@ public class AlbumController {
         albumService.delete(id, authentication.getName());
         return ResponseEntity.noContent().build();
     }
+
+    private Boolean parseArtistType(String type) {
+        return switch (type == null ? "" : type.toLowerCase()) {
+            case "" -> null;
+            case "band" -> true;
+            case "solo" -> false;
+            default -> throw new BadRequestException("Tipo de artista inválido: " + type);
+        };
+    }
 }
@@ -1,11 +1,15 @@
 package br.gov.mt.seplag.controller;
 
 import br.gov.mt.seplag.dto.AlbumCoverResponse;
+import br.gov.mt.seplag.dto.CoverUploadFinalizeRequest;
+import br.gov.mt.seplag.dto.CoverUploadIntentRequest;
+import br.gov.mt.seplag.dto.CoverUploadIntentResponse;
 import br.gov.mt.seplag.service.AlbumCoverService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -57,6 +61,35 @@ public class AlbumCoverController {
         return ResponseEntity.status(HttpStatus.CREATED).body(cover);
     }
 
+    @PostMapping("/upload-intent")
+    @Operation(
+            summary = "Iniciar upload direto",
+            description = "Gera uma política POST pré-assinada para enviar a capa direto ao MinIO " +
+                    "(chave, tipo, tamanho e SHA-256 fixados; max 10MB). Se o conteúdo já estiver " +
+                    "armazenado, devolve alreadyStored=true e basta finalizar"
+    )
+    public ResponseEntity<CoverUploadIntentResponse> createUploadIntent(
+            @PathVariable Long albumId,
+            @Valid @RequestBody CoverUploadIntentRequest request) {
+
+        CoverUploadIntentResponse intent = albumCoverService.createUploadIntent(albumId, request);
+        return ResponseEntity.ok(intent);
+    }
+
+    @PostMapping("/finalize")
+    @Operation(
+            summary = "Finalizar upload direto",
+            description = "Confere o SHA-256 do objeto enviado ao MinIO e registra a capa do álbum"
+    )
+    public ResponseEntity<AlbumCoverResponse> finalizeUpload(
+            @PathVariable Long albumId,
+            @Valid @RequestBody CoverUploadFinalizeRequest request,
+            Authentication authentication) {
+
+        AlbumCoverResponse cover = albumCoverService.finalizeUpload(albumId, request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(cover);
+    }
+
     @DeleteMapping("/{coverId}")
     @Operation(summary = "Deletar capa", description = "Remove uma capa do álbum (validando se pertence ao álbum)")
     public ResponseEntity<Void> delete(
@@ -1,9 +1,15 @@
 package br.gov.mt.seplag.controller;
 
+import br.gov.mt.seplag.dto.AlbumSimpleResponse;
 import br.gov.mt.seplag.dto.ArtistRequest;
 import br.gov.mt.seplag.dto.ArtistResponse;
+import br.gov.mt.seplag.dto.BatchGetResponse;
+import br.gov.mt.seplag.dto.CursorPageResponse;
+import br.gov.mt.seplag.service.AlbumService;
 import br.gov.mt.seplag.service.ArtistService;
+import br.gov.mt.seplag.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -12,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,11 +30,25 @@ import java.util.List;
 public class ArtistController {
 
     private final ArtistService artistService;
+    private final AlbumService albumService;
 
     @GetMapping
     @Operation(summary = "Listar artistas", description = "Retorna todos os artistas cadastrados")
-    public ResponseEntity<List<ArtistResponse>> findAll() {
+    public ResponseEntity<List<ArtistResponse>> findAll(WebRequest webRequest) {
+        String etag = artistService.collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         List<ArtistResponse> artists = artistService.findAll();
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(artists);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Buscar artistas por IDs",
+            description = "Retorna os artistas na ordem dos IDs informados (máximo 100) e lista os IDs não encontrados")
+    public ResponseEntity<BatchGetResponse<ArtistResponse>> findAllByIds(@RequestParam List<Long> ids) {
+        BatchGetResponse<ArtistResponse> artists = artistService.findAllByIds(ids);
         return ResponseEntity.ok(artists);
     }
 
@@ -35,11 +56,25 @@ public class ArtistController {
     @Operation(summary = "Buscar artista", description = "Busca artista por ID")
     public ResponseEntity<ArtistResponse> findById(@PathVariable Long id) {
         ArtistResponse artist = artistService.findById(id);
-        return ResponseEntity.ok(artist);
+        return ResponseEntity.ok().eTag(ETags.forArtist(artist)).cacheControl(ETags.REVALIDATE).body(artist);
+    }
+
+    @GetMapping("/{id}/albums")
+    @Operation(summary = "Listar discografia",
+            description = "Retorna o resumo dos álbuns do artista com paginação por cursor, sem contagem total")
+    public ResponseEntity<CursorPageResponse<AlbumSimpleResponse>> findAlbums(
+            @PathVariable Long id,
+            @Parameter(description = "Cursor retornado em nextCursor (vazio para a primeira página)")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Tamanho da página (máximo 100)")
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageResponse<AlbumSimpleResponse> albums = albumService.findByArtistAfter(id, after, size);
+        return ResponseEntity.ok(albums);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Buscar por nome", description = "Busca artistas por nome (case-insensitive)")
+    @Operation(summary = "Buscar por nome", description = "Busca artistas por nome (ignora maiúsculas e acentos)")
     public ResponseEntity<List<ArtistResponse>> searchByName(@RequestParam String name) {
         List<ArtistResponse> artists = artistService.searchByName(name);
         return ResponseEntity.ok(artists);
@@ -47,16 +82,26 @@ public class ArtistController {
 
     @GetMapping("/bands")
     @Operation(summary = "Listar bandas", description = "Retorna apenas artistas que são bandas")
-    public ResponseEntity<List<ArtistResponse>> findBands() {
+    public ResponseEntity<List<ArtistResponse>> findBands(WebRequest webRequest) {
+        String etag = artistService.collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         List<ArtistResponse> bands = artistService.findBands();
-        return ResponseEntity.ok(bands);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(bands);
     }
 
     @GetMapping("/solo")
     @Operation(summary = "Listar artistas solo", description = "Retorna apenas artistas solo")
-    public ResponseEntity<List<ArtistResponse>> findSoloArtists() {
+    public ResponseEntity<List<ArtistResponse>> findSoloArtists(WebRequest webRequest) {
+        String etag = artistService.collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         List<ArtistResponse> soloArtists = artistService.findSoloArtists();
-        return ResponseEntity.ok(soloArtists);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(soloArtists);
     }
 
     @PostMapping
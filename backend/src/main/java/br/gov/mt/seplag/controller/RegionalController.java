@@ -3,6 +3,7 @@ package br.gov.mt.seplag.controller;
 import br.gov.mt.seplag.dto.RegionalRequest;
 import br.gov.mt.seplag.dto.RegionalResponse;
 import br.gov.mt.seplag.service.RegionalService;
+import br.gov.mt.seplag.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -27,30 +29,53 @@ public class RegionalController {
 
     @GetMapping
     @Operation(summary = "Listar regionais", description = "Retorna todas as regionais cadastradas")
-    public ResponseEntity<List<RegionalResponse>> findAll() {
+    public ResponseEntity<List<RegionalResponse>> findAll(WebRequest webRequest) {
+        String etag = regionalService.collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         List<RegionalResponse> regionais = regionalService.findAll();
-        return ResponseEntity.ok(regionais);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(regionais);
     }
 
     @GetMapping("/active")
     @Operation(summary = "Listar regionais ativas", description = "Retorna apenas regionais ativas")
-    public ResponseEntity<List<RegionalResponse>> findActive() {
+    public ResponseEntity<List<RegionalResponse>> findActive(WebRequest webRequest) {
+        String etag = regionalService.collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         List<RegionalResponse> regionais = regionalService.findActive();
-        return ResponseEntity.ok(regionais);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(regionais);
     }
 
     @GetMapping("/inactive")
     @Operation(summary = "Listar regionais inativas", description = "Retorna apenas regionais inativas")
-    public ResponseEntity<List<RegionalResponse>> findInactive() {
+    public ResponseEntity<List<RegionalResponse>> findInactive(WebRequest webRequest) {
+        String etag = regionalService.collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         List<RegionalResponse> regionais = regionalService.findInactive();
-        return ResponseEntity.ok(regionais);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(regionais);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar por nome", description = "Busca regionais por nome (ignora maiúsculas e acentos)")
+    public ResponseEntity<List<RegionalResponse>> searchByNome(@RequestParam String nome) {
+        String etag = regionalService.collectionETag();
+        List<RegionalResponse> regionais = regionalService.searchByNome(nome);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(regionais);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar regional", description = "Busca regional por ID")
     public ResponseEntity<RegionalResponse> findById(@PathVariable Integer id) {
         RegionalResponse regional = regionalService.findById(id);
-        return ResponseEntity.ok(regional);
+        return ResponseEntity.ok().eTag(ETags.forRegional(regional)).cacheControl(ETags.REVALIDATE).body(regional);
     }
 
     @PostMapping
@@ -0,0 +1,54 @@
+package br.gov.mt.seplag.controller;
+
+import br.gov.mt.seplag.dto.AutocompleteResponse;
+import br.gov.mt.seplag.dto.PageResponse;
+import br.gov.mt.seplag.dto.SearchResultResponse;
+import br.gov.mt.seplag.service.AutocompleteService;
+import br.gov.mt.seplag.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Tag(name = "Busca", description = "Busca e autocomplete de artistas e álbuns")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SearchController {
+
+    private final AutocompleteService autocompleteService;
+    private final SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Busca unificada",
+            description = "Busca artistas e álbuns em paralelo e retorna resultados ordenados por relevância "
+                    + "(exato > prefixo > trecho > aproximado), paginados")
+    public ResponseEntity<PageResponse<SearchResultResponse>> search(
+            @Parameter(description = "Termo de busca")
+            @RequestParam String q,
+            @Parameter(description = "Número da página (começa em 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página (máximo 50)")
+            @RequestParam(defaultValue = "10") int size) {
+
+        PageResponse<SearchResultResponse> results = searchService.search(q, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete",
+            description = "Sugestões por prefixo de palavra (ignora maiúsculas e acentos), servidas da memória")
+    public ResponseEntity<AutocompleteResponse> autocomplete(
+            @Parameter(description = "Prefixo digitado")
+            @RequestParam String q,
+            @Parameter(description = "Máximo de sugestões por tipo (máximo 50)")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        AutocompleteResponse suggestions = autocompleteService.suggest(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+}
@@ -0,0 +1,20 @@
+package br.gov.mt.seplag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumArtistView {
+
+    private Long albumId;
+    private Long artistId;
+    private String name;
+    private Boolean isBand;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package br.gov.mt.seplag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumBatchResponse {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<AlbumBatchResult> results;
+}
@@ -0,0 +1,24 @@
+package br.gov.mt.seplag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumBatchResult {
+
+    private int index;
+    private Status status;
+    private Long albumId;
+    private String title;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -19,4 +20,7 @@ public class AlbumCoverResponse {
     private String contentType;
     private Long fileSize;
     private LocalDateTime createdAt;
+
+    // largura em px -> URL da variante JPEG, pronto para montar srcset
+    private Map<Integer, String> variants;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package br.gov.mt.seplag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumCoverView {
+
+    private Long id;
+    private Long albumId;
+    private String fileName;
+    private String minioKey;
+    private String contentType;
+    private Long fileSize;
+    private String variantWidths;
+    private LocalDateTime createdAt;
+}
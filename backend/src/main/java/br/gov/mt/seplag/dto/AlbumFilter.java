@@ -0,0 +1,19 @@
+package br.gov.mt.seplag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumFilter {
+
+    private String title;
+    private Integer yearFrom;
+    private Integer yearTo;
+    private Long artistId;
+    private Boolean band;
+}
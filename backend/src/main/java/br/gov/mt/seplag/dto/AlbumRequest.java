@@ -2,6 +2,7 @@ package br.gov.mt.seplag.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +17,7 @@ import java.util.Set;
 public class AlbumRequest {
 
     @NotBlank(message = "Título do álbum é obrigatório")
+    @Size(max = 200, message = "Título do álbum deve ter no máximo 200 caracteres")
     private String title;
 
     private Integer releaseYear;
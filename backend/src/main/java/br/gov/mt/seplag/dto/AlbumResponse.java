@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -20,4 +21,8 @@ public class AlbumResponse {
     private List<AlbumCoverResponse> covers;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    public AlbumResponse(Long id, String title, Integer releaseYear, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, releaseYear, new ArrayList<>(), new ArrayList<>(), createdAt, updatedAt);
+    }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package br.gov.mt.seplag.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -17,4 +19,23 @@ public class AlbumSimpleResponse {
     private String title;
     private Integer releaseYear;
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+    private String artistNames;
+    private String coverUrl;
+    private Map<Integer, String> coverVariants;
+
+    // Larguras das miniaturas da capa vindas da consulta; o serviço converte em coverVariants
+    @JsonIgnore
+    private String coverVariantWidths;
+
+    // Projeção JPQL: coverUrl recebe a chave da capa no MinIO
+    public AlbumSimpleResponse(Long id, String title, Integer releaseYear, LocalDateTime createdAt,
+                               String artistNames, String coverUrl, String coverVariantWidths) {
+        this.id = id;
+        this.title = title;
+        this.releaseYear = releaseYear;
+        this.createdAt = createdAt;
+        this.artistNames = artistNames;
+        this.coverUrl = coverUrl;
+        this.coverVariantWidths = coverVariantWidths;
+    }
+}
@@ -18,4 +18,5 @@ public class ArtistResponse {
     private Boolean isBand;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long albumCount;
 }
\ No newline at end of file
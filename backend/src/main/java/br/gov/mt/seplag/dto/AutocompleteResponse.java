@@ -0,0 +1,18 @@
+package br.gov.mt.seplag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteResponse {
+
+    private List<SuggestionResponse> artists;
+    private List<SuggestionResponse> albums;
+}
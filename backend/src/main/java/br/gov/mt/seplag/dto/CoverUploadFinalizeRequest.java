@@ -0,0 +1,20 @@
+package br.gov.mt.seplag.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoverUploadFinalizeRequest {
+
+    @NotBlank(message = "Chave do objeto é obrigatória")
+    private String objectKey;
+
+    @NotBlank(message = "Nome do arquivo é obrigatório")
+    private String fileName;
+}
@@ -0,0 +1,31 @@
+package br.gov.mt.seplag.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoverUploadIntentRequest {
+
+    @NotBlank(message = "Nome do arquivo é obrigatório")
+    private String fileName;
+
+    @NotBlank(message = "Tipo do arquivo é obrigatório")
+    private String contentType;
+
+    @NotNull(message = "Tamanho do arquivo é obrigatório")
+    @Positive(message = "Tamanho do arquivo deve ser positivo")
+    private Long fileSize;
+
+    @NotBlank(message = "Hash SHA-256 do arquivo é obrigatório")
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "Hash SHA-256 deve ter 64 caracteres hexadecimais")
+    private String sha256;
+}
@@ -0,0 +1,23 @@
+package br.gov.mt.seplag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoverUploadIntentResponse {
+
+    // Conteúdo já armazenado: não há o que enviar, basta finalizar com objectKey
+    private boolean alreadyStored;
+    private String uploadUrl;
+    private String objectKey;
+    private Map<String, String> formFields;
+    private ZonedDateTime expiresAt;
+}
@@ -28,6 +28,7 @@ public class NotificationMessage {
         ALBUM_CREATED,
         ALBUM_UPDATED,
         ALBUM_DELETED,
+        ALBUMS_IMPORTED,
         ARTIST_CREATED,
         ARTIST_UPDATED,
         ARTIST_DELETED,
@@ -1,7 +1,11 @@
 package br.gov.mt.seplag.entity;
 
+import br.gov.mt.seplag.util.SearchText;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -18,12 +22,16 @@ import java.util.Set;
 public class Album {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "albums_seq")
+    @SequenceGenerator(name = "albums_seq", sequenceName = "albums_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
     private String title;
 
+    @Column(name = "title_search", length = 200)
+    private String titleSearch;
+
     @Column(name = "release_year")
     private Integer releaseYear;
 
@@ -33,11 +41,13 @@ public class Album {
             joinColumns = @JoinColumn(name = "album_id"),
             inverseJoinColumns = @JoinColumn(name = "artist_id")
     )
-
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "album-artists")
     @Builder.Default
     private Set<Artist> artists = new HashSet<>();
 
     @OneToMany(mappedBy = "album", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @Builder.Default
     private Set<AlbumCover> covers = new HashSet<>();
 
@@ -51,11 +61,13 @@ public class Album {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        titleSearch = SearchText.normalize(title);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        titleSearch = SearchText.normalize(title);
     }
 
 }
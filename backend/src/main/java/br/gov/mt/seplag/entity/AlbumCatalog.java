@@ -0,0 +1,53 @@
+package br.gov.mt.seplag.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "album_catalog")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "album")
+@EqualsAndHashCode(exclude = "album")
+public class AlbumCatalog {
+
+    @Id
+    @Column(name = "album_id")
+    private Long albumId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "album_id")
+    private Album album;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(name = "release_year")
+    private Integer releaseYear;
+
+    @Column(name = "has_band", nullable = false)
+    private boolean hasBand;
+
+    @Column(name = "has_solo", nullable = false)
+    private boolean hasSolo;
+
+    @Column(name = "artist_count", nullable = false)
+    private int artistCount;
+
+    @Column(name = "cover_count", nullable = false)
+    private int coverCount;
+
+    @Column(name = "primary_cover_key", length = 500)
+    private String primaryCoverKey;
+
+    @Column(name = "search_text", length = 4000)
+    private String searchText;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class AlbumCover {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "album_covers_seq")
+    @SequenceGenerator(name = "album_covers_seq", sequenceName = "album_covers_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,17 +31,27 @@ public class AlbumCover {
     @Column(name = "minio_key", nullable = false, length = 500)
     private String minioKey;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "content_type", length = 100)
     private String contentType;
 
     @Column(name = "file_size")
     private Long fileSize;
 
+    @Column(name = "variant_widths", length = 50)
+    private String variantWidths;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
     }
 }
@@ -1,8 +1,11 @@
 package br.gov.mt.seplag.entity;
 
+import br.gov.mt.seplag.util.SearchText;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -10,6 +13,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "artists")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "artist")
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,12 +24,16 @@ import java.util.Set;
 public class Artist {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artists_seq")
+    @SequenceGenerator(name = "artists_seq", sequenceName = "artists_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
     private String name;
 
+    @Column(name = "name_search", length = 200)
+    private String nameSearch;
+
     @Column(name = "is_band", nullable = false)
     @Builder.Default
     private Boolean isBand = false;
@@ -45,10 +53,12 @@ public class Artist {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        nameSearch = SearchText.normalize(name);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        nameSearch = SearchText.normalize(name);
     }
 }
\ No newline at end of file
@@ -5,11 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "regionais")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "regional")
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,8 @@
+package br.gov.mt.seplag.exception;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,71 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.AlbumCatalog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AlbumCatalogRepository extends JpaRepository<AlbumCatalog, Long>, JpaSpecificationExecutor<AlbumCatalog> {
+
+    @Override
+    @EntityGraph(attributePaths = "album")
+    Page<AlbumCatalog> findAll(Specification<AlbumCatalog> spec, Pageable pageable);
+
+    @Query(value = "SELECT c.album FROM AlbumCatalog c WHERE c.hasBand = true",
+            countQuery = "SELECT COUNT(c) FROM AlbumCatalog c WHERE c.hasBand = true")
+    Page<Album> findBandAlbums(Pageable pageable);
+
+    @Query(value = "SELECT c.album FROM AlbumCatalog c WHERE c.hasSolo = true",
+            countQuery = "SELECT COUNT(c) FROM AlbumCatalog c WHERE c.hasSolo = true")
+    Page<Album> findSoloAlbums(Pageable pageable);
+
+    // Cursor (título, id): usa os índices parciais idx_album_catalog_band_title / _solo_title
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.hasBand = true ORDER BY c.title ASC, c.albumId ASC")
+    Slice<Album> findBandAlbumsOrderByTitleAsc(Pageable pageable);
+
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.hasBand = true " +
+            "AND (c.title > :title OR (c.title = :title AND c.albumId > :id)) " +
+            "ORDER BY c.title ASC, c.albumId ASC")
+    Slice<Album> findBandAlbumsAfterOrderByTitleAsc(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.hasBand = true ORDER BY c.title DESC, c.albumId DESC")
+    Slice<Album> findBandAlbumsOrderByTitleDesc(Pageable pageable);
+
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.hasBand = true " +
+            "AND (c.title < :title OR (c.title = :title AND c.albumId < :id)) " +
+            "ORDER BY c.title DESC, c.albumId DESC")
+    Slice<Album> findBandAlbumsAfterOrderByTitleDesc(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.hasSolo = true ORDER BY c.title ASC, c.albumId ASC")
+    Slice<Album> findSoloAlbumsOrderByTitleAsc(Pageable pageable);
+
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.hasSolo = true " +
+            "AND (c.title > :title OR (c.title = :title AND c.albumId > :id)) " +
+            "ORDER BY c.title ASC, c.albumId ASC")
+    Slice<Album> findSoloAlbumsAfterOrderByTitleAsc(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.hasSolo = true ORDER BY c.title DESC, c.albumId DESC")
+    Slice<Album> findSoloAlbumsOrderByTitleDesc(Pageable pageable);
+
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.hasSolo = true " +
+            "AND (c.title < :title OR (c.title = :title AND c.albumId < :id)) " +
+            "ORDER BY c.title DESC, c.albumId DESC")
+    Slice<Album> findSoloAlbumsAfterOrderByTitleDesc(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT c.album FROM AlbumCatalog c WHERE c.searchText LIKE CONCAT('%', :term, '%') ORDER BY c.title, c.albumId")
+    List<Album> search(@Param("term") String normalizedTerm);
+
+    List<AlbumCatalog> findByAlbumIdIn(Collection<Long> albumIds);
+}
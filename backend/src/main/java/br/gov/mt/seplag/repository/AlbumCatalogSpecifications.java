@@ -0,0 +1,50 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.AlbumCatalog;
+import br.gov.mt.seplag.entity.Artist;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class AlbumCatalogSpecifications {
+
+    private AlbumCatalogSpecifications() {
+    }
+
+    public static Specification<AlbumCatalog> titleContains(String normalizedTerm) {
+        return (root, query, cb) -> cb.like(
+                root.get("album").get("titleSearch"), "%" + normalizedTerm + "%");
+    }
+
+    public static Specification<AlbumCatalog> releasedFrom(Integer year) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("releaseYear"), year);
+    }
+
+    public static Specification<AlbumCatalog> releasedUntil(Integer year) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("releaseYear"), year);
+    }
+
+    public static Specification<AlbumCatalog> hasBand() {
+        return (root, query, cb) -> cb.isTrue(root.get("hasBand"));
+    }
+
+    public static Specification<AlbumCatalog> hasSolo() {
+        return (root, query, cb) -> cb.isTrue(root.get("hasSolo"));
+    }
+
+    public static Specification<AlbumCatalog> withArtist(Long artistId) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Album> album = subquery.from(Album.class);
+            Join<Album, Artist> artist = album.join("artists");
+
+            subquery.select(album.get("id"))
+                    .where(cb.equal(album.get("id"), root.get("albumId")),
+                            cb.equal(artist.get("id"), artistId));
+
+            return cb.exists(subquery);
+        };
+    }
+}
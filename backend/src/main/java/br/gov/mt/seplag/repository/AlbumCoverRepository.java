@@ -2,9 +2,14 @@ package br.gov.mt.seplag.repository;
 
 import br.gov.mt.seplag.entity.AlbumCover;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AlbumCoverRepository extends JpaRepository<AlbumCover, Long> {
@@ -13,5 +18,13 @@ public interface AlbumCoverRepository extends JpaRepository<AlbumCover, Long> {
 
     long countByAlbumId(Long albumId);
 
+    // content_hash é indexado (idx_album_covers_content_hash); minio_key não
+    Optional<AlbumCover> findFirstByContentHashAndVariantWidthsIsNotNull(String contentHash);
+
     void deleteByAlbumId(Long albumId);
+
+    @Modifying
+    @Query("UPDATE AlbumCover c SET c.variantWidths = :widths, c.updatedAt = :now WHERE c.contentHash = :contentHash")
+    int updateVariantWidths(@Param("contentHash") String contentHash, @Param("widths") String widths,
+                            @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -1,30 +1,116 @@
 package br.gov.mt.seplag.repository;
 
+import br.gov.mt.seplag.dto.AlbumArtistView;
+import br.gov.mt.seplag.dto.AlbumCoverView;
+import br.gov.mt.seplag.dto.AlbumResponse;
+import br.gov.mt.seplag.dto.AlbumSimpleResponse;
+import br.gov.mt.seplag.dto.CollectionVersion;
+import br.gov.mt.seplag.dto.SuggestionResponse;
 import br.gov.mt.seplag.entity.Album;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AlbumRepository extends JpaRepository<Album, Long> {
 
-    @Query("SELECT DISTINCT a FROM Album a JOIN a.artists ar WHERE ar.isBand = true")
-    Page<Album> findAlbumsByBands(Pageable pageable);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Album a ORDER BY a.id")
+    Stream<Album> streamAllOrderById();
 
-    @Query("SELECT DISTINCT a FROM Album a JOIN a.artists ar WHERE ar.isBand = false")
-    Page<Album> findAlbumsBySoloArtists(Pageable pageable);
+    @Query("SELECT new br.gov.mt.seplag.dto.SuggestionResponse(a.id, a.title, 'ALBUM') FROM Album a")
+    List<SuggestionResponse> findAllSuggestions();
 
+    // Candidatos por similaridade trigram (pg_trgm, índice GIN de title_search): tolera erros de digitação
+    // e o banco devolve só os mais parecidos (ordenação top-N por similaridade, sem ordenar por tamanho)
+    @Query(value = "SELECT a.id, a.title FROM albums a " +
+            "WHERE :term <% a.title_search OR a.title_search LIKE '%' || :term || '%' " +
+            "ORDER BY word_similarity(:term, a.title_search) DESC, a.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findSimilarRows(@Param("term") String normalizedTerm, @Param("limit") int limit);
 
-    @Query("SELECT DISTINCT a FROM Album a LEFT JOIN FETCH a.artists")
-    List<Album> findAllWithArtists();
+    default List<SuggestionResponse> searchSuggestions(String normalizedTerm, int limit) {
+        return findSimilarRows(normalizedTerm, limit).stream()
+                .map(row -> new SuggestionResponse(((Number) row[0]).longValue(), (String) row[1], "ALBUM"))
+                .toList();
+    }
 
+    // Termos com menos de 3 letras não geram trigramas úteis: sem ORDER BY, o limite encerra a leitura
+    @Query("SELECT new br.gov.mt.seplag.dto.SuggestionResponse(a.id, a.title, 'ALBUM') FROM Album a " +
+            "WHERE a.titleSearch LIKE CONCAT('%', :term, '%')")
+    List<SuggestionResponse> findSuggestionsContaining(@Param("term") String normalizedTerm, Pageable pageable);
 
-    List<Album> findByReleaseYear(Integer releaseYear);
+    @Query("SELECT new br.gov.mt.seplag.dto.AlbumResponse(a.id, a.title, a.releaseYear, a.createdAt, a.updatedAt) " +
+            "FROM Album a ORDER BY a.id")
+    List<AlbumResponse> findAllResponses();
+
+    @Query("SELECT new br.gov.mt.seplag.dto.AlbumArtistView(a.id, ar.id, ar.name, ar.isBand, ar.createdAt, ar.updatedAt) " +
+            "FROM Album a JOIN a.artists ar ORDER BY a.id, ar.id")
+    List<AlbumArtistView> findAllArtistViews();
+
+    @Query("SELECT new br.gov.mt.seplag.dto.AlbumCoverView(c.id, c.album.id, c.fileName, c.minioKey, c.contentType, c.fileSize, c.variantWidths, c.createdAt) " +
+            "FROM AlbumCover c ORDER BY c.album.id, c.id")
+    List<AlbumCoverView> findAllCoverViews();
+
+    // coverUrl recebe a chave da primeira capa no MinIO (e suas larguras de miniatura); o serviço converte em URLs públicas
+    @Query(value = "SELECT new br.gov.mt.seplag.dto.AlbumSimpleResponse(a.id, a.title, a.releaseYear, a.createdAt, " +
+            "LISTAGG(ar.name, ', ') WITHIN GROUP (ORDER BY ar.name), " +
+            "(SELECT c.minioKey FROM AlbumCover c WHERE c.id = (SELECT MIN(c2.id) FROM AlbumCover c2 WHERE c2.album = a)), " +
+            "(SELECT c.variantWidths FROM AlbumCover c WHERE c.id = (SELECT MIN(c2.id) FROM AlbumCover c2 WHERE c2.album = a))) " +
+            "FROM Album a LEFT JOIN a.artists ar " +
+            "WHERE (:band IS NULL OR EXISTS (SELECT 1 FROM a.artists b WHERE b.isBand = :band)) " +
+            "GROUP BY a.id, a.title, a.releaseYear, a.createdAt",
+            countQuery = "SELECT COUNT(a) FROM Album a " +
+                    "WHERE (:band IS NULL OR EXISTS (SELECT 1 FROM a.artists b WHERE b.isBand = :band))")
+    Page<AlbumSimpleResponse> findSummaries(@Param("band") Boolean band, Pageable pageable);
+
+    // keyset por album_id: percorre a PK (artist_id, album_id) de artist_albums já na ordem da página
+    @Query("SELECT new br.gov.mt.seplag.dto.AlbumSimpleResponse(a.id, a.title, a.releaseYear, a.createdAt, " +
+            "LISTAGG(other.name, ', ') WITHIN GROUP (ORDER BY other.name), c.primaryCoverKey, " +
+            "(SELECT v.variantWidths FROM AlbumCover v WHERE v.id = (SELECT MIN(v2.id) FROM AlbumCover v2 WHERE v2.album = a))) " +
+            "FROM Album a JOIN a.artists ar JOIN a.artists other LEFT JOIN AlbumCatalog c ON c.albumId = a.id " +
+            "WHERE ar.id = :artistId AND a.id > :afterId " +
+            "GROUP BY a.id, a.title, a.releaseYear, a.createdAt, c.primaryCoverKey " +
+            "ORDER BY a.id")
+    Slice<AlbumSimpleResponse> findSummariesByArtistAfter(@Param("artistId") Long artistId,
+                                                          @Param("afterId") Long afterId,
+                                                          Pageable pageable);
+
+    @Query("SELECT new br.gov.mt.seplag.dto.AlbumArtistView(a.id, ar.id, ar.name, ar.isBand, ar.createdAt, ar.updatedAt) " +
+            "FROM Album a JOIN a.artists ar WHERE a.id IN :ids ORDER BY ar.id")
+    List<AlbumArtistView> findArtistViewsByAlbumIds(@Param("ids") Collection<Long> albumIds);
 
+    @Query("SELECT new br.gov.mt.seplag.dto.AlbumCoverView(c.id, c.album.id, c.fileName, c.minioKey, c.contentType, c.fileSize, c.variantWidths, c.createdAt) " +
+            "FROM AlbumCover c WHERE c.album.id IN :ids ORDER BY c.id")
+    List<AlbumCoverView> findCoverViewsByAlbumIds(@Param("ids") Collection<Long> albumIds);
+
+    @Query("SELECT a.id FROM Album a JOIN a.artists ar WHERE ar.id = :artistId")
+    List<Long> findIdsByArtistId(@Param("artistId") Long artistId);
+
+    @Query("SELECT a.id FROM Album a ORDER BY a.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT new br.gov.mt.seplag.dto.CollectionVersion(COUNT(a), MAX(a.updatedAt)) FROM Album a")
+    CollectionVersion findCollectionVersion();
+
+    @Query("SELECT new br.gov.mt.seplag.dto.CollectionVersion(COUNT(c), MAX(c.updatedAt)) FROM AlbumCover c")
+    CollectionVersion findCoverCollectionVersion();
+
+    List<Album> findByReleaseYear(Integer releaseYear);
 
-    List<Album> findByTitleContainingIgnoreCase(String title);
+    @Query("SELECT a FROM Album a WHERE a.titleSearch LIKE CONCAT('%', :term, '%')")
+    List<Album> searchByTitle(@Param("term") String normalizedTerm);
 }
\ No newline at end of file
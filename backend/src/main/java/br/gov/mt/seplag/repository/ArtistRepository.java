@@ -1,22 +1,70 @@
 package br.gov.mt.seplag.repository;
 
+import br.gov.mt.seplag.dto.ArtistResponse;
+import br.gov.mt.seplag.dto.CollectionVersion;
+import br.gov.mt.seplag.dto.SuggestionResponse;
 import br.gov.mt.seplag.entity.Artist;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ArtistRepository extends JpaRepository<Artist, Long> {
 
-    List<Artist> findByNameContainingIgnoreCase(String name);
+    @Query("SELECT new br.gov.mt.seplag.dto.SuggestionResponse(a.id, a.name, 'ARTIST') FROM Artist a")
+    List<SuggestionResponse> findAllSuggestions();
 
-    @Query("SELECT a FROM Artist a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
-            "ORDER BY CASE WHEN :sort = 'asc' THEN a.name END ASC, " +
-            "         CASE WHEN :sort = 'desc' THEN a.name END DESC")
-    List<Artist> searchByNameWithSort(@Param("name") String name, @Param("sort") String sort);
+    // Candidatos por similaridade trigram (pg_trgm, índice GIN de name_search): tolera erros de digitação
+    // e o banco devolve só os mais parecidos (ordenação top-N por similaridade, sem ordenar por tamanho)
+    @Query(value = "SELECT a.id, a.name FROM artists a " +
+            "WHERE :term <% a.name_search OR a.name_search LIKE '%' || :term || '%' " +
+            "ORDER BY word_similarity(:term, a.name_search) DESC, a.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findSimilarRows(@Param("term") String normalizedTerm, @Param("limit") int limit);
+
+    default List<SuggestionResponse> searchSuggestions(String normalizedTerm, int limit) {
+        return findSimilarRows(normalizedTerm, limit).stream()
+                .map(row -> new SuggestionResponse(((Number) row[0]).longValue(), (String) row[1], "ARTIST"))
+                .toList();
+    }
+
+    // Termos com menos de 3 letras não geram trigramas úteis: sem ORDER BY, o limite encerra a leitura
+    @Query("SELECT new br.gov.mt.seplag.dto.SuggestionResponse(a.id, a.name, 'ARTIST') FROM Artist a " +
+            "WHERE a.nameSearch LIKE CONCAT('%', :term, '%')")
+    List<SuggestionResponse> findSuggestionsContaining(@Param("term") String normalizedTerm, Pageable pageable);
+
+    @Query("SELECT new br.gov.mt.seplag.dto.ArtistResponse(a.id, a.name, a.isBand, a.createdAt, a.updatedAt, COUNT(al)) " +
+            "FROM Artist a LEFT JOIN a.albums al " +
+            "GROUP BY a.id, a.name, a.isBand, a.createdAt, a.updatedAt ORDER BY a.id")
+    List<ArtistResponse> findAllResponses();
+
+    @Query("SELECT new br.gov.mt.seplag.dto.ArtistResponse(a.id, a.name, a.isBand, a.createdAt, a.updatedAt, COUNT(al)) " +
+            "FROM Artist a LEFT JOIN a.albums al WHERE a.isBand = :band " +
+            "GROUP BY a.id, a.name, a.isBand, a.createdAt, a.updatedAt ORDER BY a.id")
+    List<ArtistResponse> findResponsesByIsBand(@Param("band") boolean band);
+
+    @Query("SELECT new br.gov.mt.seplag.dto.ArtistResponse(a.id, a.name, a.isBand, a.createdAt, a.updatedAt, COUNT(al)) " +
+            "FROM Artist a LEFT JOIN a.albums al WHERE a.id = :id " +
+            "GROUP BY a.id, a.name, a.isBand, a.createdAt, a.updatedAt")
+    Optional<ArtistResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new br.gov.mt.seplag.dto.ArtistResponse(a.id, a.name, a.isBand, a.createdAt, a.updatedAt, COUNT(al)) " +
+            "FROM Artist a LEFT JOIN a.albums al WHERE a.id IN :ids " +
+            "GROUP BY a.id, a.name, a.isBand, a.createdAt, a.updatedAt")
+    List<ArtistResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new br.gov.mt.seplag.dto.ArtistResponse(a.id, a.name, a.isBand, a.createdAt, a.updatedAt, COUNT(al)) " +
+            "FROM Artist a LEFT JOIN a.albums al WHERE a.nameSearch LIKE CONCAT('%', :term, '%') " +
+            "GROUP BY a.id, a.name, a.isBand, a.createdAt, a.updatedAt ORDER BY a.id")
+    List<ArtistResponse> searchResponsesByName(@Param("term") String normalizedTerm);
+
+    @Query("SELECT new br.gov.mt.seplag.dto.CollectionVersion(COUNT(a), MAX(a.updatedAt)) FROM Artist a")
+    CollectionVersion findCollectionVersion();
 
     List<Artist> findByIsBandTrue();
 
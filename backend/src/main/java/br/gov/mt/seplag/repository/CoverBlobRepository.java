@@ -0,0 +1,30 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.CoverBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CoverBlobRepository extends JpaRepository<CoverBlob, String> {
+
+    // Os contadores mudam só por UPDATE atômico: o lock de linha serializa uploads e exclusões do mesmo conteúdo
+    @Modifying
+    @Query("UPDATE CoverBlob b SET b.refCount = b.refCount + 1 WHERE b.contentHash = :hash")
+    int acquire(@Param("hash") String hash);
+
+    @Modifying
+    @Query("UPDATE CoverBlob b SET b.refCount = b.refCount - 1 WHERE b.contentHash = :hash AND b.refCount > 0")
+    int release(@Param("hash") String hash);
+
+    @Query("SELECT b.refCount FROM CoverBlob b WHERE b.contentHash = :hash")
+    Optional<Integer> findRefCount(@Param("hash") String hash);
+
+    @Modifying
+    @Query("DELETE FROM CoverBlob b WHERE b.contentHash = :hash AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -1,7 +1,9 @@
 package br.gov.mt.seplag.repository;
 
+import br.gov.mt.seplag.dto.RegionalResponse;
 import br.gov.mt.seplag.entity.Regional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,5 +17,9 @@ public interface RegionalRepository extends JpaRepository<Regional, Integer> {
 
     List<Regional> findByNome(String nome);
 
+    @Query("SELECT new br.gov.mt.seplag.dto.RegionalResponse(r.id, r.nome, r.ativo, r.createdAt, r.updatedAt) " +
+            "FROM Regional r ORDER BY r.id")
+    List<RegionalResponse> findAllResponses();
+
     Regional findByIdAndAtivoTrue(Integer id);
 }
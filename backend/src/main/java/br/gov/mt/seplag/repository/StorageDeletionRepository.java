@@ -0,0 +1,36 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.StorageDeletion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+
+    // FOR UPDATE SKIP LOCKED (timeout -2): várias instâncias drenam a fila sem pegar o mesmo lote
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM StorageDeletion d WHERE d.nextAttemptAt <= :now ORDER BY d.id")
+    List<StorageDeletion> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Remoções de um conteúdo que voltou a ser gravado, exceto as reivindicadas por um worker
+    @Modifying
+    @Query("DELETE FROM StorageDeletion d WHERE d.contentHash = :hash " +
+            "AND (d.claimedAt IS NULL OR d.nextAttemptAt <= :now)")
+    int deleteUnclaimed(@Param("hash") String contentHash, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(d) > 0 FROM StorageDeletion d WHERE d.contentHash = :hash " +
+            "AND d.claimedAt IS NOT NULL AND d.nextAttemptAt > :now")
+    boolean existsActiveClaim(@Param("hash") String contentHash, @Param("now") LocalDateTime now);
+}
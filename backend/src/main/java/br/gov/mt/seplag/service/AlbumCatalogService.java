@@ -0,0 +1,123 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.AlbumArtistView;
+import br.gov.mt.seplag.dto.AlbumCoverView;
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.AlbumCatalog;
+import br.gov.mt.seplag.repository.AlbumCatalogRepository;
+import br.gov.mt.seplag.repository.AlbumRepository;
+import br.gov.mt.seplag.util.SearchText;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class AlbumCatalogService {
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+    private static final int SEARCH_TEXT_MAX_LENGTH = 4000;
+
+    private final AlbumCatalogRepository albumCatalogRepository;
+    private final AlbumRepository albumRepository;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public void refresh(Long albumId) {
+        refresh(List.of(albumId));
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> albumIds) {
+        if (albumIds.isEmpty()) return;
+
+        // Os agregados abaixo são lidos do banco; pendências do contexto precisam estar gravadas
+        entityManager.flush();
+
+        Map<Long, List<AlbumArtistView>> artistsByAlbum = albumRepository.findArtistViewsByAlbumIds(albumIds)
+                .stream()
+                .collect(Collectors.groupingBy(AlbumArtistView::getAlbumId));
+
+        Map<Long, List<AlbumCoverView>> coversByAlbum = albumRepository.findCoverViewsByAlbumIds(albumIds)
+                .stream()
+                .collect(Collectors.groupingBy(AlbumCoverView::getAlbumId));
+
+        Map<Long, AlbumCatalog> existing = albumCatalogRepository.findByAlbumIdIn(albumIds)
+                .stream()
+                .collect(Collectors.toMap(AlbumCatalog::getAlbumId, Function.identity()));
+
+        for (Album album : albumRepository.findAllById(albumIds)) {
+            AlbumCatalog entry = existing.remove(album.getId());
+            boolean isNew = entry == null;
+            if (isNew) {
+                entry = AlbumCatalog.builder().album(album).build();
+            }
+
+            apply(entry, album,
+                    artistsByAlbum.getOrDefault(album.getId(), List.of()),
+                    coversByAlbum.getOrDefault(album.getId(), List.of()));
+
+            if (isNew) {
+                albumCatalogRepository.save(entry);
+            }
+        }
+
+        // Sobram apenas entradas de álbuns que não existem mais
+        albumCatalogRepository.deleteAll(existing.values());
+    }
+
+    @Transactional
+    public void remove(Long albumId) {
+        albumCatalogRepository.deleteById(albumId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfStale() {
+        long albums = albumRepository.count();
+        if (albumCatalogRepository.count() == albums) return;
+
+        List<Long> ids = albumRepository.findAllIds();
+        for (int start = 0; start < ids.size(); start += REBUILD_CHUNK_SIZE) {
+            refresh(ids.subList(start, Math.min(start + REBUILD_CHUNK_SIZE, ids.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        log.info("Catálogo de álbuns reconstruído: {} álbuns", albums);
+    }
+
+    private void apply(AlbumCatalog entry, Album album, List<AlbumArtistView> artists, List<AlbumCoverView> covers) {
+        String searchText = Stream.concat(
+                        Stream.of(album.getTitle()),
+                        artists.stream().map(AlbumArtistView::getName))
+                .map(SearchText::normalize)
+                .collect(Collectors.joining(" "));
+
+        entry.setTitle(album.getTitle());
+        entry.setReleaseYear(album.getReleaseYear());
+        entry.setHasBand(artists.stream().anyMatch(artist -> Boolean.TRUE.equals(artist.getIsBand())));
+        entry.setHasSolo(artists.stream().anyMatch(artist -> !Boolean.TRUE.equals(artist.getIsBand())));
+        entry.setArtistCount(artists.size());
+        entry.setCoverCount(covers.size());
+        entry.setPrimaryCoverKey(covers.isEmpty() ? null : covers.get(0).getMinioKey());
+        entry.setSearchText(searchText.length() > SEARCH_TEXT_MAX_LENGTH
+                ? searchText.substring(0, SEARCH_TEXT_MAX_LENGTH)
+                : searchText);
+        entry.setUpdatedAt(LocalDateTime.now());
+    }
+}
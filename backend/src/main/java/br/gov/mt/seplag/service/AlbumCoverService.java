@@ -1,26 +1,55 @@
 package br.gov.mt.seplag.service;
 
+import br.gov.mt.seplag.config.CacheConfig;
 import br.gov.mt.seplag.dto.AlbumCoverResponse;
+import br.gov.mt.seplag.dto.CoverUploadFinalizeRequest;
+import br.gov.mt.seplag.dto.CoverUploadIntentRequest;
+import br.gov.mt.seplag.dto.CoverUploadIntentResponse;
 import br.gov.mt.seplag.entity.Album;
 import br.gov.mt.seplag.entity.AlbumCover;
+import br.gov.mt.seplag.entity.CoverBlob;
 import br.gov.mt.seplag.exception.BadRequestException;
+import br.gov.mt.seplag.exception.ConflictException;
 import br.gov.mt.seplag.exception.ResourceNotFoundException;
 import br.gov.mt.seplag.repository.AlbumCoverRepository;
 import br.gov.mt.seplag.repository.AlbumRepository;
+import br.gov.mt.seplag.repository.CoverBlobRepository;
+import br.gov.mt.seplag.util.CoverBlobs;
+import br.gov.mt.seplag.util.CoverVariants;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
+import io.minio.PostPolicy;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,11 +58,24 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AlbumCoverService {
 
+    private static final long MAX_FILE_SIZE = 10L * 1024 * 1024;
+    private static final String CHECKSUM_FIELD = "x-amz-checksum-sha256";
+    private static final String PRECONDITION_FAILED = "PreconditionFailed";
+    // albumId/sha256/uuid.ext: o hash declarado no intent faz parte da chave assinada
+    private static final Pattern UPLOAD_KEY =
+            Pattern.compile("(\\d+)/([0-9a-f]{64})/[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.(jpg|jpeg|png|gif|webp)");
+
     private final AlbumCoverRepository albumCoverRepository;
+    private final CoverBlobRepository coverBlobRepository;
     private final AlbumRepository albumRepository;
     private final NotificationService notificationService;
+    private final AlbumCatalogService albumCatalogService;
+    private final CoverVariantService coverVariantService;
+    private final StorageCleanupService storageCleanupService;
+    private final PlatformTransactionManager transactionManager;
 
     private final @Qualifier("minioInternalClient") MinioClient minioInternalClient;
+    private final @Qualifier("minioPublicClient") MinioClient minioPublicClient;
 
     @Value("${minio.bucket-name}")
     private String bucketName;
@@ -41,6 +83,9 @@ public class AlbumCoverService {
     @Value("${minio.public-url}")
     private String minioPublicUrl;
 
+    @Value("${minio.presigned-url-expiration:1800}")
+    private long presignedUrlExpiration;
+
     public List<AlbumCoverResponse> findByAlbumId(Long albumId) {
         albumRepository.findById(albumId)
                 .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com ID: " + albumId));
@@ -62,53 +107,327 @@ public class AlbumCoverService {
         return toResponse(cover);
     }
 
-    @Transactional
+    // Upload em duas fases: o objeto vai para o MinIO sem conexão do pool presa,
+    // e só então uma transação curta grava os metadados
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS_CACHE, key = "#albumId")
     public AlbumCoverResponse uploadCover(Long albumId, MultipartFile file, String username) {
         Album album = albumRepository.findById(albumId)
                 .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com ID: " + albumId));
 
         validateImageFile(file);
 
-        String extension = getFileExtension(file.getOriginalFilename());
-        String minioKey = generateMinioKey(albumId, extension);
+        // O hash vem antes do envio: conteúdo já armazenado não sobe de novo para o MinIO
+        String contentHash = hashOf(file);
+        String minioKey = CoverBlobs.keyFor(contentHash);
 
-        try (InputStream inputStream = file.getInputStream()) {
+        AlbumCover saved = storeAndRecord(album, contentHash, () -> storeObject(file, minioKey),
+                file.getOriginalFilename(), file.getContentType(), file.getSize());
+        notificationService.notifyCoverUploaded(album.getId(), album.getTitle(), username);
 
-            minioInternalClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(minioKey)
-                            .stream(inputStream, file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build()
-            );
+        log.info("Capa enviada para álbum {} por {}: {}", albumId, username, minioKey);
+        return toResponse(saved);
+    }
+
+    // O cliente envia o arquivo direto ao MinIO com um POST pré-assinado; a política
+    // fixa a chave, o Content-Type, o tamanho máximo e o SHA-256 (conferido de novo na finalização).
+    // Conteúdo já armazenado dispensa o envio
+    public CoverUploadIntentResponse createUploadIntent(Long albumId, CoverUploadIntentRequest request) {
+        albumRepository.findById(albumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com ID: " + albumId));
+
+        validateImage(request.getFileName(), request.getContentType(), request.getFileSize());
+
+        String contentHash = request.getSha256().toLowerCase(Locale.ROOT);
+        String minioKey = generateUploadKey(albumId, contentHash, getFileExtension(request.getFileName()));
+        if (coverBlobRepository.existsById(contentHash)) {
+            return CoverUploadIntentResponse.builder()
+                    .alreadyStored(true)
+                    .objectKey(minioKey)
+                    .build();
+        }
+
+        String checksum = CoverBlobs.checksumOf(contentHash);
+        ZonedDateTime expiresAt = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(presignedUrlExpiration);
+
+        PostPolicy policy = new PostPolicy(bucketName, expiresAt);
+        policy.addEqualsCondition("key", minioKey);
+        policy.addEqualsCondition("Content-Type", request.getContentType());
+        policy.addEqualsCondition(CHECKSUM_FIELD, checksum);
+        policy.addContentLengthRangeCondition(1, request.getFileSize());
+
+        Map<String, String> formFields;
+        try {
+            formFields = new LinkedHashMap<>(minioPublicClient.getPresignedPostFormData(policy));
+        } catch (Exception e) {
+            log.error("Erro ao gerar política de upload", e);
+            throw new RuntimeException("Erro ao gerar política de upload", e);
+        }
+        formFields.put("key", minioKey);
+        formFields.put("Content-Type", request.getContentType());
+        formFields.put(CHECKSUM_FIELD, checksum);
+
+        return CoverUploadIntentResponse.builder()
+                .uploadUrl(publicBaseUrl() + "/" + bucketName)
+                .objectKey(minioKey)
+                .formFields(formFields)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS_CACHE, key = "#albumId")
+    public AlbumCoverResponse finalizeUpload(Long albumId, CoverUploadFinalizeRequest request, String username) {
+        Album album = albumRepository.findById(albumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com ID: " + albumId));
 
-            AlbumCover saved = albumCoverRepository.save(
+        String uploadKey = request.getObjectKey();
+        Matcher upload = uploadKeyMatcher(uploadKey);
+        if (upload == null || !upload.group(1).equals(String.valueOf(albumId))) {
+            throw new BadRequestException("Chave de objeto inválida para o álbum informado");
+        }
+
+        String contentHash = upload.group(2);
+        String minioKey = CoverBlobs.keyFor(contentHash);
+
+        AlbumCover saved = coverBlobRepository.findById(contentHash)
+                .map(blob -> recordExisting(album, uploadKey, blob, request.getFileName()))
+                .orElseGet(() -> promoteUpload(album, uploadKey, contentHash, request.getFileName()));
+        notificationService.notifyCoverUploaded(album.getId(), album.getTitle(), username);
+
+        log.info("Capa finalizada para álbum {} por {}: {}", albumId, username, minioKey);
+        return toResponse(saved);
+    }
+
+    // Intent "já armazenado": só registra a referência ao blob. Um envio feito mesmo assim é descartado
+    private AlbumCover recordExisting(Album album, String uploadKey, CoverBlob blob, String fileName) {
+        removeStoredObject(uploadKey);
+        validateImage(fileName, blob.getContentType(), blob.getFileSize());
+
+        return recordCover(album, blob.getContentHash(), fileName, blob.getContentType(), blob.getFileSize(), () -> {
+            throw new ConflictException("Imagem não está mais armazenada; solicite um novo upload");
+        });
+    }
+
+    // O objeto enviado é temporário: conferido o SHA-256, o conteúdo passa para a chave do hash
+    // (cópia no próprio MinIO) ou é descartado se já existir
+    private AlbumCover promoteUpload(Album album, String uploadKey, String contentHash, String fileName) {
+        try {
+            // Tipo e tamanho vêm do armazenamento, não do cliente
+            StatObjectResponse stat = statObject(uploadKey);
+            validateImage(fileName, stat.contentType(), stat.size());
+
+            // O hash da chave é só o declarado pelo cliente: sem conferir, o blob compartilhado
+            // poderia receber outro conteúdo. O ETag impede troca do objeto entre a leitura e a cópia
+            if (!contentHash.equals(hashOfStoredObject(uploadKey, stat.etag()))) {
+                throw new BadRequestException("Conteúdo enviado não confere com o SHA-256 informado");
+            }
+
+            String minioKey = CoverBlobs.keyFor(contentHash);
+            return storeAndRecord(album, contentHash, () -> copyObject(uploadKey, stat.etag(), minioKey),
+                    fileName, stat.contentType(), stat.size());
+        } finally {
+            removeStoredObject(uploadKey);
+        }
+    }
+
+    private AlbumCover storeAndRecord(Album album, String contentHash, Runnable store, String fileName,
+                                      String contentType, long fileSize) {
+        boolean known = coverBlobRepository.existsById(contentHash);
+        if (!known) {
+            storageCleanupService.cancelDeletions(contentHash);
+            store.run();
+        }
+        return recordCover(album, contentHash, fileName, contentType, fileSize, known ? store : null);
+    }
+
+    // storeIfMissing é informado quando o objeto não foi enviado por já existir um blob;
+    // se o blob sumir antes do commit (última referência apagada), o objeto é gravado de novo
+    private AlbumCover recordCover(Album album, String contentHash, String fileName, String contentType,
+                                   long fileSize, Runnable storeIfMissing) {
+        String minioKey = CoverBlobs.keyFor(contentHash);
+        try {
+            AlbumCover saved;
+            try {
+                saved = saveCover(album, contentHash, fileName, contentType, fileSize, storeIfMissing);
+            } catch (DataIntegrityViolationException e) {
+                // Outro upload do mesmo conteúdo criou o blob primeiro
+                log.debug("Blob {} criado concorrentemente; repetindo como nova referência", contentHash);
+                saved = saveCover(album, contentHash, fileName, contentType, fileSize, storeIfMissing);
+            }
+            // Já commitado: as miniaturas são geradas em segundo plano
+            if (saved.getVariantWidths() == null) {
+                coverVariantService.schedule(album.getId(), saved.getId(), contentHash);
+            }
+            return saved;
+        } catch (RuntimeException e) {
+            log.error("Erro ao gravar metadados da capa {}", minioKey, e);
+            removeUnreferencedObject(contentHash, minioKey);
+            throw e;
+        }
+    }
+
+    private AlbumCover saveCover(Album album, String contentHash, String fileName, String contentType,
+                                 long fileSize, Runnable storeIfMissing) {
+        String minioKey = CoverBlobs.keyFor(contentHash);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            String variantWidths = null;
+            if (coverBlobRepository.acquire(contentHash) == 0) {
+                storageCleanupService.cancelDeletions(contentHash);
+                if (storeIfMissing != null) {
+                    storeIfMissing.run();
+                }
+                coverBlobRepository.saveAndFlush(
+                        CoverBlob.builder()
+                                .contentHash(contentHash)
+                                .minioKey(minioKey)
+                                .contentType(contentType)
+                                .fileSize(fileSize)
+                                .refCount(1)
+                                .build()
+                );
+            } else {
+                // Reaproveita as miniaturas já geradas para o mesmo conteúdo
+                variantWidths = albumCoverRepository.findFirstByContentHashAndVariantWidthsIsNotNull(contentHash)
+                        .map(AlbumCover::getVariantWidths)
+                        .orElse(null);
+            }
+
+            AlbumCover cover = albumCoverRepository.save(
                     AlbumCover.builder()
                             .album(album)
-                            .fileName(file.getOriginalFilename())
+                            .fileName(fileName)
                             .minioKey(minioKey)
-                            .contentType(file.getContentType())
-                            .fileSize(file.getSize())
+                            .contentHash(contentHash)
+                            .contentType(contentType)
+                            .fileSize(fileSize)
+                            .variantWidths(variantWidths)
                             .build()
             );
+            albumCatalogService.refresh(album.getId());
+            return cover;
+        });
+    }
 
-            notificationService.notifyCoverUploaded(
-                    album.getId(),
-                    album.getTitle(),
-                    username
+    private void removeUnreferencedObject(String contentHash, String minioKey) {
+        try {
+            if (coverBlobRepository.existsById(contentHash)) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível verificar o blob {}; objeto mantido", contentHash, e);
+            return;
+        }
+        removeStoredObject(minioKey);
+    }
+
+    private void copyObject(String sourceKey, String etag, String targetKey) {
+        try {
+            minioInternalClient.copyObject(
+                    CopyObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(targetKey)
+                            .source(CopySource.builder().bucket(bucketName).object(sourceKey).matchETag(etag).build())
+                            .build()
             );
+        } catch (ErrorResponseException e) {
+            if (PRECONDITION_FAILED.equals(e.errorResponse().code())) {
+                throw new BadRequestException("Arquivo alterado durante a finalização; envie-o novamente");
+            }
+            log.error("Erro ao copiar objeto {} para {}", sourceKey, targetKey, e);
+            throw new RuntimeException("Erro ao gravar a imagem", e);
+        } catch (Exception e) {
+            log.error("Erro ao copiar objeto {} para {}", sourceKey, targetKey, e);
+            throw new RuntimeException("Erro ao gravar a imagem", e);
+        }
+    }
+
+    private String hashOfStoredObject(String minioKey, String etag) {
+        try (InputStream stream = minioInternalClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(minioKey)
+                        .matchETag(etag)
+                        .build())) {
+            return CoverBlobs.hashOf(stream);
+        } catch (ErrorResponseException e) {
+            if (PRECONDITION_FAILED.equals(e.errorResponse().code())) {
+                throw new BadRequestException("Arquivo alterado durante a finalização; envie-o novamente");
+            }
+            log.error("Erro ao ler objeto {}", minioKey, e);
+            throw new RuntimeException("Erro ao verificar objeto no armazenamento", e);
+        } catch (Exception e) {
+            log.error("Erro ao ler objeto {}", minioKey, e);
+            throw new RuntimeException("Erro ao verificar objeto no armazenamento", e);
+        }
+    }
+
+    private StatObjectResponse statObject(String minioKey) {
+        try {
+            return minioInternalClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(minioKey)
+                            .build()
+            );
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                throw new BadRequestException("Arquivo não encontrado no armazenamento; envie-o antes de finalizar");
+            }
+            log.error("Erro ao verificar objeto {}", minioKey, e);
+            throw new RuntimeException("Erro ao verificar objeto no armazenamento", e);
+        } catch (Exception e) {
+            log.error("Erro ao verificar objeto {}", minioKey, e);
+            throw new RuntimeException("Erro ao verificar objeto no armazenamento", e);
+        }
+    }
 
-            log.info("Capa enviada para álbum {} por {}: {}", albumId, username, minioKey);
-            return toResponse(saved);
+    private Matcher uploadKeyMatcher(String minioKey) {
+        if (minioKey == null) return null;
+        Matcher matcher = UPLOAD_KEY.matcher(minioKey);
+        return matcher.matches() ? matcher : null;
+    }
+
+    private String hashOf(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            return CoverBlobs.hashOf(inputStream);
+        } catch (IOException e) {
+            log.error("Erro ao ler a imagem enviada", e);
+            throw new RuntimeException("Erro ao fazer upload da imagem", e);
+        }
+    }
 
+    private void storeObject(MultipartFile file, String minioKey) {
+        try (InputStream inputStream = file.getInputStream()) {
+            minioInternalClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(minioKey)
+                            .stream(inputStream, file.getSize(), -1)
+                            .contentType(file.getContentType())
+                            .build()
+            );
         } catch (Exception e) {
             log.error("Erro ao fazer upload da imagem", e);
             throw new RuntimeException("Erro ao fazer upload da imagem", e);
         }
     }
 
+    private void removeStoredObject(String minioKey) {
+        try {
+            minioInternalClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(minioKey)
+                            .build()
+            );
+        } catch (Exception e) {
+            log.warn("Não foi possível remover objeto órfão {} do MinIO", minioKey, e);
+        }
+    }
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS_CACHE, key = "#albumId")
     public void delete(Long albumId, Long coverId) {
         AlbumCover cover = albumCoverRepository.findById(coverId)
                 .orElseThrow(() -> new ResourceNotFoundException("Capa não encontrada com ID: " + coverId));
@@ -118,38 +437,32 @@ public class AlbumCoverService {
         }
 
         delete(cover);
+        albumCatalogService.refresh(albumId);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS_CACHE, key = "#albumId")
     public void deleteByAlbumId(Long albumId) {
         List<AlbumCover> covers = albumCoverRepository.findByAlbumId(albumId);
         covers.forEach(this::delete);
+        albumCatalogService.refresh(albumId);
     }
 
+    // O objeto no MinIO é removido depois pelo worker da outbox, fora desta transação
     private void delete(AlbumCover cover) {
-        try {
-            String normalizedKey = normalizeObjectKey(cover.getMinioKey());
+        storageCleanupService.releaseCover(cover);
+        albumCoverRepository.delete(cover);
 
-            minioInternalClient.removeObject(
-                    RemoveObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(normalizedKey)
-                            .build()
-            );
-
-            albumCoverRepository.delete(cover);
-
-            log.info("Capa deletada: {}", normalizedKey);
+        log.info("Capa deletada: {}", cover.getMinioKey());
+    }
 
-        } catch (Exception e) {
-            log.error("Erro ao deletar imagem", e);
-            throw new RuntimeException("Erro ao deletar imagem", e);
-        }
+    private String publicBaseUrl() {
+        String base = (minioPublicUrl == null ? "" : minioPublicUrl.trim());
+        return base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
     }
 
     private String publicUrl(String minioKey) {
-        String base = (minioPublicUrl == null ? "" : minioPublicUrl.trim());
-        if (base.endsWith("/")) base = base.substring(0, base.length() - 1);
+        String base = publicBaseUrl();
 
         String key = normalizeObjectKey(minioKey);
         if (key == null || key.isBlank()) return null;
@@ -168,6 +481,7 @@ public class AlbumCoverService {
                 .contentType(cover.getContentType())
                 .fileSize(cover.getFileSize())
                 .createdAt(cover.getCreatedAt())
+                .variants(CoverVariants.urls(cover.getMinioKey(), cover.getVariantWidths(), this::publicUrl))
                 .build();
     }
 
@@ -176,16 +490,24 @@ public class AlbumCoverService {
             throw new BadRequestException("Arquivo não pode ser vazio");
         }
 
-        if (file.getContentType() == null || !file.getContentType().startsWith("image/")) {
+        validateImage(file.getOriginalFilename(), file.getContentType(), file.getSize());
+    }
+
+    private void validateImage(String fileName, String contentType, long size) {
+        if (size <= 0) {
+            throw new BadRequestException("Arquivo não pode ser vazio");
+        }
+
+        if (contentType == null || !contentType.startsWith("image/")) {
             throw new BadRequestException("Arquivo deve ser uma imagem");
         }
 
-        if (file.getOriginalFilename() == null ||
-                !file.getOriginalFilename().toLowerCase().matches(".*\\.(jpg|jpeg|png|gif|webp)$")) {
+        if (fileName == null ||
+                !fileName.toLowerCase().matches(".*\\.(jpg|jpeg|png|gif|webp)$")) {
             throw new BadRequestException("Formato de imagem não suportado");
         }
 
-        if (file.getSize() > 10L * 1024 * 1024) {
+        if (size > MAX_FILE_SIZE) {
             throw new BadRequestException("Imagem muito grande. Máximo: 10MB");
         }
     }
@@ -197,8 +519,8 @@ public class AlbumCoverService {
         return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
     }
 
-    private String generateMinioKey(Long albumId, String extension) {
-        return String.format("%d/%s.%s", albumId, UUID.randomUUID(), extension);
+    private String generateUploadKey(Long albumId, String contentHash, String extension) {
+        return String.format("%d/%s/%s.%s", albumId, contentHash, UUID.randomUUID(), extension);
     }
 
     private String normalizeObjectKey(String key) {
@@ -0,0 +1,227 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.AlbumBatchResponse;
+import br.gov.mt.seplag.dto.AlbumBatchResult;
+import br.gov.mt.seplag.dto.AlbumRequest;
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.exception.BadRequestException;
+import br.gov.mt.seplag.repository.ArtistRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlbumImportService {
+
+    // albums.title é VARCHAR(200): um título maior derrubaria o bloco inteiro no flush
+    private static final int MAX_TITLE_LENGTH = 200;
+
+    private final ArtistRepository artistRepository;
+    private final ArtistService artistService;
+    private final NotificationService notificationService;
+    private final AutocompleteService autocompleteService;
+    private final AlbumCatalogService albumCatalogService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${album.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${album.import.max-items:10000}")
+    private int maxItems;
+
+    public AlbumBatchResponse importNdjson(InputStream input, String username) throws IOException {
+        List<AlbumRequest> requests = new ArrayList<>();
+
+        try (MappingIterator<AlbumRequest> iterator = objectMapper.readerFor(AlbumRequest.class).readValues(input)) {
+            while (iterator.hasNextValue()) {
+                if (requests.size() == maxItems) {
+                    throw new BadRequestException("Lote excede o limite de " + maxItems + " álbuns");
+                }
+                requests.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("NDJSON inválido na linha " + (requests.size() + 1) + ": " + e.getOriginalMessage());
+        }
+
+        return importAll(requests, username);
+    }
+
+    public AlbumBatchResponse importAll(List<AlbumRequest> requests, String username) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("Lote de álbuns vazio");
+        }
+        if (requests.size() > maxItems) {
+            throw new BadRequestException("Lote excede o limite de " + maxItems + " álbuns");
+        }
+
+        Set<Long> knownArtistIds = resolveArtistIds(requests);
+        List<AlbumBatchResult> results = new ArrayList<>(requests.size());
+
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, requests.size());
+            results.addAll(importChunk(requests.subList(start, end), start, knownArtistIds, username));
+        }
+
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == AlbumBatchResult.Status.CREATED)
+                .count();
+
+        log.info("Importação de álbuns concluída: {} criados, {} com falha", created, results.size() - created);
+
+        return AlbumBatchResponse.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+
+    private Set<Long> resolveArtistIds(List<AlbumRequest> requests) {
+        Set<Long> requestedIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(AlbumRequest::getArtistIds)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        if (requestedIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return artistRepository.findAllById(requestedIds)
+                .stream()
+                .map(Artist::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private List<AlbumBatchResult> importChunk(List<AlbumRequest> chunk, int offset,
+                                               Set<Long> knownArtistIds, String username) {
+        AlbumBatchResult[] results = new AlbumBatchResult[chunk.size()];
+        List<Integer> validPositions = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            String error = validate(chunk.get(i), knownArtistIds);
+            if (error != null) {
+                results[i] = failed(offset + i, chunk.get(i), error);
+            } else {
+                validPositions.add(i);
+            }
+        }
+
+        if (!validPositions.isEmpty()) {
+            try {
+                List<Album> albums = persistChunk(chunk, validPositions);
+                artistService.evictCached(validPositions.stream()
+                        .flatMap(position -> chunk.get(position).getArtistIds().stream())
+                        .collect(Collectors.toSet()));
+
+                for (int i = 0; i < albums.size(); i++) {
+                    Album album = albums.get(i);
+                    int position = validPositions.get(i);
+                    results[position] = AlbumBatchResult.builder()
+                            .index(offset + position)
+                            .status(AlbumBatchResult.Status.CREATED)
+                            .albumId(album.getId())
+                            .title(album.getTitle())
+                            .build();
+                }
+
+                notificationService.notifyAlbumsImported(albums.stream().map(Album::getId).toList(), username);
+            } catch (RuntimeException e) {
+                log.error("Erro ao gravar lote de álbuns a partir do item {}", offset, e);
+                for (int position : validPositions) {
+                    results[position] = failed(offset + position, chunk.get(position),
+                            "Falha ao gravar o bloco; nenhum item dele foi importado");
+                }
+            }
+        }
+
+        return List.of(results);
+    }
+
+    private List<Album> persistChunk(List<AlbumRequest> chunk, List<Integer> positions) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+
+            List<Album> albums = new ArrayList<>(positions.size());
+            for (int position : positions) {
+                AlbumRequest request = chunk.get(position);
+
+                Set<Artist> artists = new HashSet<>();
+                for (Long artistId : request.getArtistIds()) {
+                    artists.add(entityManager.getReference(Artist.class, artistId));
+                }
+
+                Album album = Album.builder()
+                        .title(request.getTitle())
+                        .releaseYear(request.getReleaseYear())
+                        .artists(artists)
+                        .build();
+
+                entityManager.persist(album);
+                albums.add(album);
+            }
+
+            entityManager.flush();
+            albumCatalogService.refresh(albums.stream().map(Album::getId).toList());
+            albums.forEach(album -> autocompleteService.indexAlbum(album.getId(), album.getTitle()));
+            entityManager.clear();
+            return albums;
+        });
+    }
+
+    private String validate(AlbumRequest request, Set<Long> knownArtistIds) {
+        if (request == null) {
+            return "Item vazio";
+        }
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            return "Título do álbum é obrigatório";
+        }
+        if (request.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "Título do álbum deve ter no máximo " + MAX_TITLE_LENGTH + " caracteres";
+        }
+        if (request.getArtistIds() == null || request.getArtistIds().isEmpty()) {
+            return "Pelo menos um artista é obrigatório";
+        }
+
+        List<Long> missing = request.getArtistIds().stream()
+                .filter(id -> id == null || !knownArtistIds.contains(id))
+                .toList();
+
+        return missing.isEmpty() ? null : "Artistas não encontrados: " + missing;
+    }
+
+    private AlbumBatchResult failed(int index, AlbumRequest request, String message) {
+        return AlbumBatchResult.builder()
+                .index(index)
+                .status(AlbumBatchResult.Status.FAILED)
+                .title(request == null ? null : request.getTitle())
+                .message(message)
+                .build();
+    }
+}
@@ -1,24 +1,54 @@
 package br.gov.mt.seplag.service;
 
+import br.gov.mt.seplag.config.CacheConfig;
 import br.gov.mt.seplag.dto.*;
 import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.AlbumCatalog;
 import br.gov.mt.seplag.entity.AlbumCover;
 import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.exception.BadRequestException;
 import br.gov.mt.seplag.exception.ResourceNotFoundException;
+import br.gov.mt.seplag.repository.AlbumCatalogRepository;
+import br.gov.mt.seplag.repository.AlbumCatalogSpecifications;
 import br.gov.mt.seplag.repository.AlbumRepository;
 import br.gov.mt.seplag.repository.ArtistRepository;
+import br.gov.mt.seplag.util.CoverVariants;
+import br.gov.mt.seplag.util.ETags;
+import br.gov.mt.seplag.util.IdLists;
+import br.gov.mt.seplag.util.SearchText;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,9 +56,22 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AlbumService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_PAGE_SIZE = 100;
+    private static final int EXPORT_CHUNK_SIZE = 100;
+    private static final String CSV_HEADER = "id,title,releaseYear,artists,coverUrls,createdAt,updatedAt";
+
     private final AlbumRepository albumRepository;
     private final ArtistRepository artistRepository;
+    private final ArtistService artistService;
     private final NotificationService notificationService;
+    private final AutocompleteService autocompleteService;
+    private final AlbumCatalogService albumCatalogService;
+    private final AlbumCatalogRepository albumCatalogRepository;
+    private final StorageCleanupService storageCleanupService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Value("${minio.bucket-name}")
     private String bucketName;
@@ -37,22 +80,151 @@ public class AlbumService {
     private String minioPublicUrl;
 
     public List<AlbumResponse> findAll() {
-        return albumRepository.findAll()
+        List<AlbumResponse> albums = albumRepository.findAllResponses();
+        Map<Long, AlbumResponse> byId = albums.stream()
+                .collect(Collectors.toMap(AlbumResponse::getId, Function.identity()));
+
+        for (AlbumArtistView view : albumRepository.findAllArtistViews()) {
+            AlbumResponse album = byId.get(view.getAlbumId());
+            if (album != null) {
+                album.getArtists().add(ArtistResponse.builder()
+                        .id(view.getArtistId())
+                        .name(view.getName())
+                        .isBand(view.getIsBand())
+                        .createdAt(view.getCreatedAt())
+                        .updatedAt(view.getUpdatedAt())
+                        .build());
+            }
+        }
+
+        for (AlbumCoverView view : albumRepository.findAllCoverViews()) {
+            AlbumResponse album = byId.get(view.getAlbumId());
+            if (album != null) {
+                album.getCovers().add(AlbumCoverResponse.builder()
+                        .id(view.getId())
+                        .albumId(view.getAlbumId())
+                        .fileName(view.getFileName())
+                        .imageUrl(publicUrl(view.getMinioKey()))
+                        .contentType(view.getContentType())
+                        .fileSize(view.getFileSize())
+                        .createdAt(view.getCreatedAt())
+                        .variants(CoverVariants.urls(view.getMinioKey(), view.getVariantWidths(), this::publicUrl))
+                        .build());
+            }
+        }
+
+        return albums;
+    }
+
+    public BatchGetResponse<AlbumResponse> findAllByIds(List<Long> ids) {
+        List<Long> requested = IdLists.distinct(ids);
+        List<AlbumResponse> found = albumRepository.findAllById(requested)
                 .stream()
                 .map(this::toResponse)
-                .collect(Collectors.toList());
+                .toList();
+
+        return IdLists.inRequestOrder(requested, found, AlbumResponse::getId);
     }
 
     public PageResponse<AlbumResponse> findAlbumsByBands(Pageable pageable) {
-        Page<Album> page = albumRepository.findAlbumsByBands(pageable);
+        Page<Album> page = albumCatalogRepository.findBandAlbums(pageable);
         return toPageResponse(page);
     }
 
     public PageResponse<AlbumResponse> findAlbumsBySoloArtists(Pageable pageable) {
-        Page<Album> page = albumRepository.findAlbumsBySoloArtists(pageable);
+        Page<Album> page = albumCatalogRepository.findSoloAlbums(pageable);
         return toPageResponse(page);
     }
 
+    public CursorPageResponse<AlbumResponse> findAlbumsByBandsAfter(String after, int size, boolean descending) {
+        return findByArtistTypeAfter(true, after, size, descending);
+    }
+
+    public CursorPageResponse<AlbumResponse> findAlbumsBySoloArtistsAfter(String after, int size, boolean descending) {
+        return findByArtistTypeAfter(false, after, size, descending);
+    }
+
+    public CursorPageResponse<AlbumSimpleResponse> findByArtistAfter(Long artistId, String after, int size) {
+        if (!artistRepository.existsById(artistId)) {
+            throw new ResourceNotFoundException("Artista não encontrado com ID: " + artistId);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        long afterId = decodeIdCursor(after);
+
+        Slice<AlbumSimpleResponse> slice =
+                albumRepository.findSummariesByArtistAfter(artistId, afterId, PageRequest.of(0, pageSize));
+        List<AlbumSimpleResponse> albums = slice.getContent();
+        albums.forEach(this::resolveCoverUrls);
+
+        String nextCursor = slice.hasNext() && !albums.isEmpty()
+                ? String.valueOf(albums.get(albums.size() - 1).getId())
+                : null;
+
+        return CursorPageResponse.<AlbumSimpleResponse>builder()
+                .content(albums)
+                .size(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
+    public PageResponse<AlbumSimpleResponse> findSummaries(Boolean band, int page, int size, boolean descending) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize, Sort.by(direction, "title").and(Sort.by(direction, "id")));
+
+        Page<AlbumSimpleResponse> summaries = albumRepository.findSummaries(band, pageable);
+        summaries.forEach(this::resolveCoverUrls);
+
+        return PageResponse.<AlbumSimpleResponse>builder()
+                .content(summaries.getContent())
+                .page(summaries.getNumber())
+                .size(summaries.getSize())
+                .totalElements(summaries.getTotalElements())
+                .totalPages(summaries.getTotalPages())
+                .last(summaries.isLast())
+                .build();
+    }
+
+    public PageResponse<AlbumResponse> query(AlbumFilter filter, Pageable pageable) {
+        if (filter.getYearFrom() != null && filter.getYearTo() != null && filter.getYearFrom() > filter.getYearTo()) {
+            throw new BadRequestException("Ano inicial maior que o ano final");
+        }
+
+        Specification<AlbumCatalog> spec = Specification.where(null);
+        if (filter.getTitle() != null && !filter.getTitle().isBlank()) {
+            spec = spec.and(AlbumCatalogSpecifications.titleContains(SearchText.normalize(filter.getTitle())));
+        }
+        if (filter.getYearFrom() != null) {
+            spec = spec.and(AlbumCatalogSpecifications.releasedFrom(filter.getYearFrom()));
+        }
+        if (filter.getYearTo() != null) {
+            spec = spec.and(AlbumCatalogSpecifications.releasedUntil(filter.getYearTo()));
+        }
+        if (filter.getArtistId() != null) {
+            spec = spec.and(AlbumCatalogSpecifications.withArtist(filter.getArtistId()));
+        }
+        if (filter.getBand() != null) {
+            spec = spec.and(filter.getBand() ? AlbumCatalogSpecifications.hasBand() : AlbumCatalogSpecifications.hasSolo());
+        }
+
+        Pageable bounded = PageRequest.of(Math.max(pageable.getPageNumber(), 0),
+                Math.max(1, Math.min(pageable.getPageSize(), MAX_QUERY_PAGE_SIZE)),
+                pageable.getSort());
+
+        Page<AlbumCatalog> page = albumCatalogRepository.findAll(spec, bounded);
+        return toPageResponse(page.map(AlbumCatalog::getAlbum));
+    }
+
+    public String catalogETag() {
+        return ETags.of("albums",
+                albumRepository.findCollectionVersion(),
+                albumRepository.findCoverCollectionVersion(),
+                artistRepository.findCollectionVersion());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ALBUMS_CACHE, key = "#id")
     public AlbumResponse findById(Long id) {
         Album album = albumRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com ID: " + id));
@@ -61,7 +233,7 @@ public class AlbumService {
     }
 
     public List<AlbumResponse> searchByTitle(String title) {
-        return albumRepository.findByTitleContainingIgnoreCase(title)
+        return albumCatalogRepository.search(SearchText.normalize(title))
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
@@ -74,6 +246,30 @@ public class AlbumService {
                 .collect(Collectors.toList());
     }
 
+    public void exportAll(String format, OutputStream outputStream) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        List<Album> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Album> albums = albumRepository.streamAllOrderById()) {
+            Iterator<Album> iterator = albums.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    writeExportChunk(chunk, csv, writer);
+                }
+            }
+            writeExportChunk(chunk, csv, writer);
+        }
+
+        writer.flush();
+    }
+
     @Transactional
     public AlbumResponse insert(AlbumRequest request, String username) {
         Set<Artist> artists = loadArtists(request.getArtistIds());
@@ -87,7 +283,10 @@ public class AlbumService {
         Album saved = albumRepository.saveAndFlush(album);
         saved.getArtists().addAll(artists);
         saved = albumRepository.saveAndFlush(saved);
+        albumCatalogService.refresh(saved.getId());
+        artistService.evictCached(artistIds(saved.getArtists()));
 
+        autocompleteService.indexAlbum(saved.getId(), saved.getTitle());
         notificationService.notifyAlbumCreated(saved.getId(), saved.getTitle(), username);
 
         log.info("Álbum criado e notificado: {}", saved.getId());
@@ -95,29 +294,152 @@ public class AlbumService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS_CACHE, key = "#id")
     public AlbumResponse update(Long id, AlbumRequest request, String username) {
         Album album = albumRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com ID: " + id));
 
+        Set<Long> affectedArtistIds = artistIds(album.getArtists());
+
         album.setTitle(request.getTitle());
         album.setReleaseYear(request.getReleaseYear());
         album.setArtists(loadArtists(request.getArtistIds()));
+        affectedArtistIds.addAll(artistIds(album.getArtists()));
+        // @PreUpdate não dispara quando só a coleção de artistas muda; updatedAt alimenta o ETag
+        album.setUpdatedAt(LocalDateTime.now());
 
         Album updated = albumRepository.save(album);
+        albumCatalogService.refresh(updated.getId());
+        artistService.evictCached(affectedArtistIds);
+        autocompleteService.indexAlbum(updated.getId(), updated.getTitle());
 
         notificationService.notifyAlbumUpdated(updated.getId(), updated.getTitle(), username);
         return toResponse(updated);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS_CACHE, key = "#id")
     public void delete(Long id, String username) {
         Album album = albumRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com ID: " + id));
 
+        albumCatalogService.remove(album.getId());
+        // As capas caem em cascata; os objetos no MinIO entram na outbox
+        album.getCovers().forEach(storageCleanupService::releaseCover);
+        artistService.evictCached(artistIds(album.getArtists()));
         albumRepository.delete(album);
+        autocompleteService.removeAlbum(album.getId());
         notificationService.notifyAlbumDeleted(album.getId(), album.getTitle(), username);
     }
 
+    private void writeExportChunk(List<Album> chunk, boolean csv, Writer writer) throws IOException {
+        for (Album album : chunk) {
+            AlbumResponse response = toResponse(album);
+            writer.write(csv ? toCsvLine(response) : objectMapper.writeValueAsString(response));
+            writer.write('\n');
+        }
+
+        writer.flush();
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private String toCsvLine(AlbumResponse album) {
+        String artists = album.getArtists().stream()
+                .map(ArtistResponse::getName)
+                .collect(Collectors.joining("|"));
+
+        String coverUrls = album.getCovers().stream()
+                .map(AlbumCoverResponse::getImageUrl)
+                .collect(Collectors.joining("|"));
+
+        return String.join(",",
+                String.valueOf(album.getId()),
+                csvValue(album.getTitle()),
+                album.getReleaseYear() == null ? "" : String.valueOf(album.getReleaseYear()),
+                csvValue(artists),
+                csvValue(coverUrls),
+                album.getCreatedAt() == null ? "" : album.getCreatedAt().toString(),
+                album.getUpdatedAt() == null ? "" : album.getUpdatedAt().toString());
+    }
+
+    private String csvValue(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private CursorPageResponse<AlbumResponse> findByArtistTypeAfter(boolean band, String after, int size, boolean descending) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize);
+
+        Slice<Album> slice;
+        if (after == null || after.isBlank()) {
+            slice = band
+                    ? (descending ? albumCatalogRepository.findBandAlbumsOrderByTitleDesc(limit)
+                                  : albumCatalogRepository.findBandAlbumsOrderByTitleAsc(limit))
+                    : (descending ? albumCatalogRepository.findSoloAlbumsOrderByTitleDesc(limit)
+                                  : albumCatalogRepository.findSoloAlbumsOrderByTitleAsc(limit));
+        } else {
+            AlbumCursor cursor = decodeCursor(after);
+            slice = band
+                    ? (descending ? albumCatalogRepository.findBandAlbumsAfterOrderByTitleDesc(cursor.title(), cursor.id(), limit)
+                                  : albumCatalogRepository.findBandAlbumsAfterOrderByTitleAsc(cursor.title(), cursor.id(), limit))
+                    : (descending ? albumCatalogRepository.findSoloAlbumsAfterOrderByTitleDesc(cursor.title(), cursor.id(), limit)
+                                  : albumCatalogRepository.findSoloAlbumsAfterOrderByTitleAsc(cursor.title(), cursor.id(), limit));
+        }
+
+        List<Album> albums = slice.getContent();
+        String nextCursor = slice.hasNext() && !albums.isEmpty()
+                ? encodeCursor(albums.get(albums.size() - 1))
+                : null;
+
+        return CursorPageResponse.<AlbumResponse>builder()
+                .content(albums.stream().map(this::toResponse).collect(Collectors.toList()))
+                .size(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
+    private String encodeCursor(Album album) {
+        String raw = album.getId() + ":" + album.getTitle();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private AlbumCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            return new AlbumCursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    private record AlbumCursor(Long id, String title) {
+    }
+
+    private long decodeIdCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    private Set<Long> artistIds(Set<Artist> artists) {
+        return artists.stream().map(Artist::getId).collect(Collectors.toCollection(HashSet::new));
+    }
+
     private Set<Artist> loadArtists(Set<Long> artistIds) {
         Set<Artist> artists = new HashSet<>();
         if (artistIds == null) return artists;
@@ -131,6 +453,12 @@ public class AlbumService {
         return artists;
     }
 
+    private void resolveCoverUrls(AlbumSimpleResponse summary) {
+        String coverKey = summary.getCoverUrl();
+        summary.setCoverVariants(CoverVariants.urls(coverKey, summary.getCoverVariantWidths(), this::publicUrl));
+        summary.setCoverUrl(publicUrl(coverKey));
+    }
+
     private String publicUrl(String minioKey) {
         if (minioKey == null) return null;
 
@@ -154,6 +482,7 @@ public class AlbumService {
                 .contentType(cover.getContentType())
                 .fileSize(cover.getFileSize())
                 .createdAt(cover.getCreatedAt())
+                .variants(CoverVariants.urls(cover.getMinioKey(), cover.getVariantWidths(), this::publicUrl))
                 .build();
     }
 
@@ -0,0 +1,48 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Chaves de ordenação aceitas nas listagens paginadas de álbuns (/bands e /solo).
+ * Cada chave aponta para colunas de album_catalog cobertas por índice parcial (coluna, album_id),
+ * de modo que a página sai de uma varredura de índice com LIMIT em vez de uma ordenação completa.
+ */
+public enum AlbumSort {
+
+    TITLE("title", "title"),
+    RELEASE_YEAR("releaseYear", "releaseYear"),
+    ID("id", "albumId");
+
+    private final String key;
+    private final String property;
+
+    AlbumSort(String key, String property) {
+        this.key = key;
+        this.property = property;
+    }
+
+    public static Sort resolve(String key, String direction) {
+        AlbumSort sort = Arrays.stream(values())
+                .filter(candidate -> candidate.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        "Ordenação não suportada: " + key + ". Use: " + supportedKeys()));
+
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction)
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+
+        Sort primary = Sort.by(sortDirection, sort.property);
+        return sort == ID ? primary : primary.and(Sort.by(sortDirection, ID.property));
+    }
+
+    public static String supportedKeys() {
+        return Arrays.stream(values())
+                .map(sort -> sort.key)
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -1,16 +1,30 @@
 package br.gov.mt.seplag.service;
 
+import br.gov.mt.seplag.config.CacheConfig;
 import br.gov.mt.seplag.dto.ArtistRequest;
 import br.gov.mt.seplag.dto.ArtistResponse;
+import br.gov.mt.seplag.dto.BatchGetResponse;
 import br.gov.mt.seplag.entity.Artist;
 import br.gov.mt.seplag.exception.ResourceNotFoundException;
+import br.gov.mt.seplag.repository.AlbumRepository;
 import br.gov.mt.seplag.repository.ArtistRepository;
+import br.gov.mt.seplag.util.ETags;
+import br.gov.mt.seplag.util.IdLists;
+import br.gov.mt.seplag.util.SearchText;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,39 +33,44 @@ public class ArtistService {
 
     private final ArtistRepository artistRepository;
     private final NotificationService notificationService;
+    private final AutocompleteService autocompleteService;
+    private final AlbumCatalogService albumCatalogService;
+    private final AlbumRepository albumRepository;
+    private final CacheManager cacheManager;
 
     public List<ArtistResponse> findAll() {
-        return artistRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return artistRepository.findAllResponses();
     }
 
+    public BatchGetResponse<ArtistResponse> findAllByIds(List<Long> ids) {
+        List<Long> requested = IdLists.distinct(ids);
+        List<ArtistResponse> found = artistRepository.findResponsesByIds(requested);
+
+        return IdLists.inRequestOrder(requested, found, ArtistResponse::getId);
+    }
+
+    public String collectionETag() {
+        return ETags.of("artists",
+                artistRepository.findCollectionVersion(),
+                albumRepository.findCollectionVersion());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ARTISTS_CACHE, key = "#id")
     public ArtistResponse findById(Long id) {
-        Artist artist = artistRepository.findById(id)
+        return artistRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com ID: " + id));
-        return toResponse(artist);
     }
 
     public List<ArtistResponse> searchByName(String name) {
-        return artistRepository.findByNameContainingIgnoreCase(name)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return artistRepository.searchResponsesByName(SearchText.normalize(name));
     }
 
     public List<ArtistResponse> findBands() {
-        return artistRepository.findByIsBandTrue()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return artistRepository.findResponsesByIsBand(true);
     }
 
     public List<ArtistResponse> findSoloArtists() {
-        return artistRepository.findByIsBandFalse()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return artistRepository.findResponsesByIsBand(false);
     }
 
     @Transactional
@@ -63,6 +82,7 @@ public class ArtistService {
                 .build();
 
         Artist saved = artistRepository.save(artist);
+        autocompleteService.indexArtist(saved.getId(), saved.getName());
 
         notificationService.notifyArtistCreated(
                 saved.getId(),
@@ -70,10 +90,15 @@ public class ArtistService {
                 username
         );
 
-        return toResponse(saved);
+        // Artista recém-criado ainda não tem álbuns
+        return toResponse(saved, 0L);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ARTISTS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ALBUMS_CACHE, allEntries = true)
+    })
     public ArtistResponse update(Long id, ArtistRequest request) {
 
         Artist artist = artistRepository.findById(id)
@@ -83,26 +108,66 @@ public class ArtistService {
         artist.setIsBand(Boolean.TRUE.equals(request.getIsBand()));
 
         Artist updated = artistRepository.save(artist);
+        autocompleteService.indexArtist(updated.getId(), updated.getName());
+        List<Long> albumIds = albumRepository.findIdsByArtistId(id);
+        albumCatalogService.refresh(albumIds);
 
-        return toResponse(updated);
+        return toResponse(updated, albumIds.size());
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ARTISTS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ALBUMS_CACHE, allEntries = true)
+    })
     public void delete(Long id) {
 
         Artist artist = artistRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com ID: " + id));
 
+        List<Long> albumIds = albumRepository.findIdsByArtistId(id);
+
+        // Desvincula pelo lado dono para que o cache L2 de Album.artists seja invalidado
+        // (o ON DELETE CASCADE do banco não passa pelo Hibernate)
+        artist.getAlbums().forEach(album -> album.getArtists().remove(artist));
         artistRepository.delete(artist);
+        autocompleteService.removeArtist(id);
+        albumCatalogService.refresh(albumIds);
+    }
+
+    // albumCount faz parte da resposta em cache: escritas de álbum invalidam os artistas envolvidos após o commit
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void evictCached(Collection<Long> artistIds) {
+        if (artistIds.isEmpty()) return;
+
+        Runnable evict = () -> {
+            Cache artists = cacheManager.getCache(CacheConfig.ARTISTS_CACHE);
+            if (artists != null) {
+                artistIds.forEach(artists::evict);
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
     }
 
-    private ArtistResponse toResponse(Artist artist) {
+    private ArtistResponse toResponse(Artist artist, long albumCount) {
         return ArtistResponse.builder()
                 .id(artist.getId())
                 .name(artist.getName())
                 .isBand(artist.getIsBand())
                 .createdAt(artist.getCreatedAt())
                 .updatedAt(artist.getUpdatedAt())
+                .albumCount(albumCount)
                 .build();
     }
 }
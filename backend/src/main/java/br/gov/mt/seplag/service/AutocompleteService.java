@@ -0,0 +1,142 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.AutocompleteResponse;
+import br.gov.mt.seplag.dto.SuggestionResponse;
+import br.gov.mt.seplag.repository.AlbumRepository;
+import br.gov.mt.seplag.repository.ArtistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteService {
+
+    public static final String ARTIST = "ARTIST";
+    public static final String ALBUM = "ALBUM";
+
+    private static final int MAX_LIMIT = 50;
+
+    private final ArtistRepository artistRepository;
+    private final AlbumRepository albumRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicReference<Indexes> indexes = new AtomicReference<>();
+
+    // Alterações commitadas durante uma recarga: reaplicadas no índice novo antes da troca,
+    // para que a leitura do banco feita no meio da recarga não desfaça nenhuma delas
+    private final Object changeLock = new Object();
+    private List<Consumer<Indexes>> pendingChanges;
+
+    private record Indexes(PrefixIndex artists, PrefixIndex albums) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reload();
+    }
+
+    public AutocompleteResponse suggest(String query, int limit) {
+        int topK = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Indexes current = indexes();
+
+        return AutocompleteResponse.builder()
+                .artists(current.artists().search(query, topK))
+                .albums(current.albums().search(query, topK))
+                .build();
+    }
+
+    public void indexArtist(Long id, String name) {
+        afterCommit(current -> current.artists().put(new SuggestionResponse(id, name, ARTIST)));
+    }
+
+    public void removeArtist(Long id) {
+        afterCommit(current -> current.artists().remove(id));
+    }
+
+    public void indexAlbum(Long id, String title) {
+        afterCommit(current -> current.albums().put(new SuggestionResponse(id, title, ALBUM)));
+    }
+
+    public void removeAlbum(Long id) {
+        afterCommit(current -> current.albums().remove(id));
+    }
+
+    // Leituras não travam: só pegam a referência atual
+    private Indexes indexes() {
+        Indexes current = indexes.get();
+        return current != null ? current : reload();
+    }
+
+    // O índice novo é montado à parte e trocado de uma vez; até lá as consultas usam o anterior
+    private synchronized Indexes reload() {
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        try {
+            TransactionTemplate reader = new TransactionTemplate(transactionManager);
+            reader.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            reader.setReadOnly(true);
+
+            Indexes loaded = reader.execute(status -> {
+                Indexes fresh = new Indexes(new PrefixIndex(), new PrefixIndex());
+                artistRepository.findAllSuggestions().forEach(fresh.artists()::put);
+                albumRepository.findAllSuggestions().forEach(fresh.albums()::put);
+                return fresh;
+            });
+
+            synchronized (changeLock) {
+                pendingChanges.forEach(change -> change.accept(loaded));
+                indexes.set(loaded);
+            }
+
+            log.info("Índice de autocomplete carregado: {} artistas, {} álbuns",
+                    loaded.artists().size(), loaded.albums().size());
+            return loaded;
+        } finally {
+            synchronized (changeLock) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    private void apply(Consumer<Indexes> change) {
+        synchronized (changeLock) {
+            Indexes current = indexes.get();
+            if (current != null) {
+                change.accept(current);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private void afterCommit(Consumer<Indexes> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+}
@@ -0,0 +1,254 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.config.CacheConfig;
+import br.gov.mt.seplag.repository.AlbumCoverRepository;
+import br.gov.mt.seplag.util.CoverBlobs;
+import br.gov.mt.seplag.util.CoverVariants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Gera miniaturas das capas fora da requisição. O executor é limitado (threads virtuais,
+// fila fixa); com a fila cheia a tarefa roda na thread de quem enviou, o que segura novos uploads.
+@Service
+@Slf4j
+public class CoverVariantService {
+
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final AlbumCoverRepository albumCoverRepository;
+    private final MinioClient minioInternalClient;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ThreadPoolExecutor executor;
+    private final int[] widths;
+    private final String bucketName;
+
+    private final Timer processingTimer;
+    private final Counter failures;
+    private final Counter callerRuns;
+
+    public CoverVariantService(AlbumCoverRepository albumCoverRepository,
+                               @Qualifier("minioInternalClient") MinioClient minioInternalClient,
+                               PlatformTransactionManager transactionManager,
+                               CacheManager cacheManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${cover.variants.widths:64,256,768}") String widths,
+                               @Value("${cover.variants.concurrency:4}") int concurrency,
+                               @Value("${cover.variants.queue-capacity:200}") int queueCapacity,
+                               @Value("${minio.bucket-name}") String bucketName) {
+        this.albumCoverRepository = albumCoverRepository;
+        this.minioInternalClient = minioInternalClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.widths = CoverVariants.parseWidths(widths);
+        this.bucketName = bucketName;
+
+        this.processingTimer = Timer.builder("covers.variants.processing")
+                .description("Tempo para gerar e gravar as variantes de uma capa")
+                .register(meterRegistry);
+        this.failures = Counter.builder("covers.variants.failures")
+                .description("Capas cujas variantes não puderam ser geradas")
+                .register(meterRegistry);
+        this.callerRuns = Counter.builder("covers.variants.caller.runs")
+                .description("Tarefas executadas na thread de origem por fila cheia")
+                .register(meterRegistry);
+
+        this.executor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("cover-variants-", 0).factory(),
+                (task, pool) -> {
+                    callerRuns.increment();
+                    if (!pool.isShutdown()) {
+                        task.run();
+                    }
+                });
+
+        Gauge.builder("covers.variants.queue", executor, pool -> pool.getQueue().size())
+                .description("Capas aguardando geração de variantes")
+                .register(meterRegistry);
+        Gauge.builder("covers.variants.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Capas com variantes sendo geradas")
+                .register(meterRegistry);
+    }
+
+    // Chamado somente depois do commit que gravou a capa
+    public void schedule(Long albumId, Long coverId, String contentHash) {
+        if (widths.length == 0) return;
+        executor.execute(() -> processingTimer.record(() -> generate(albumId, coverId, contentHash)));
+    }
+
+    void generate(Long albumId, Long coverId, String contentHash) {
+        String minioKey = CoverBlobs.keyFor(contentHash);
+        List<String> stored = new ArrayList<>();
+        try {
+            BufferedImage original = read(minioKey);
+            if (original == null) {
+                log.warn("Capa {} ({}) não pôde ser decodificada; variantes ignoradas", coverId, minioKey);
+                failures.increment();
+                return;
+            }
+
+            List<Integer> generated = new ArrayList<>();
+            for (int width : widths) {
+                if (width >= original.getWidth()) continue;
+
+                byte[] jpeg = encodeJpeg(resize(original, width));
+                String key = CoverVariants.keyFor(minioKey, width);
+                minioInternalClient.putObject(
+                        PutObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(key)
+                                .stream(new ByteArrayInputStream(jpeg), jpeg.length, -1)
+                                .contentType(CoverVariants.CONTENT_TYPE)
+                                .build()
+                );
+                stored.add(key);
+                generated.add(width);
+            }
+
+            if (generated.isEmpty()) return;
+
+            // Capas com o mesmo conteúdo compartilham o objeto e, portanto, as variantes
+            Integer updated = transactionTemplate.execute(status ->
+                    albumCoverRepository.updateVariantWidths(contentHash, CoverVariants.joinWidths(generated),
+                            LocalDateTime.now()));
+            if (updated == null || updated == 0) {
+                // A capa foi removida enquanto as variantes eram geradas
+                removeQuietly(stored);
+                return;
+            }
+
+            Cache albums = cacheManager.getCache(CacheConfig.ALBUMS_CACHE);
+            if (albums != null) {
+                if (updated > 1) {
+                    albums.clear();
+                } else {
+                    albums.evict(albumId);
+                }
+            }
+
+            log.info("Variantes {} geradas para capa {}", generated, coverId);
+        } catch (Exception e) {
+            failures.increment();
+            log.error("Erro ao gerar variantes da capa {} ({})", coverId, minioKey, e);
+            removeQuietly(stored);
+        }
+    }
+
+    private BufferedImage read(String minioKey) throws Exception {
+        try (InputStream object = minioInternalClient.getObject(
+                GetObjectArgs.builder().bucket(bucketName).object(minioKey).build());
+             ImageInputStream input = ImageIO.createImageInputStream(object)) {
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Confere as dimensões no cabeçalho antes de alocar o bitmap inteiro
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    log.warn("Capa {} excede {} pixels; variantes ignoradas", minioKey, MAX_PIXELS);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round(source.getHeight() * (width / (float) source.getWidth())));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            // JPEG não tem transparência: fundo branco para PNG/GIF
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            params.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private void removeQuietly(List<String> keys) {
+        for (String key : keys) {
+            try {
+                minioInternalClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(key).build());
+            } catch (Exception e) {
+                log.warn("Não foi possível remover variante órfã {}", key, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Geração de variantes interrompida com {} capas na fila", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -6,6 +6,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -55,6 +57,17 @@ public class NotificationService {
         sendNotification("/topic/albums", notification);
     }
 
+    public void notifyAlbumsImported(List<Long> albumIds, String username) {
+        NotificationMessage notification = NotificationMessage.builder()
+                .type(NotificationMessage.NotificationType.ALBUMS_IMPORTED)
+                .message(String.format("%d álbuns importados", albumIds.size()))
+                .data(albumIds)
+                .username(username)
+                .build();
+
+        sendNotification("/topic/albums", notification);
+    }
+
     public void notifyArtistCreated(Long artistId, String name, String username) {
         NotificationMessage notification = NotificationMessage.builder()
                 .type(NotificationMessage.NotificationType.ARTIST_CREATED)
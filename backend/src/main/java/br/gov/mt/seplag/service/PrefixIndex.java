@@ -0,0 +1,73 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.SuggestionResponse;
+import br.gov.mt.seplag.util.SearchText;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Índice ordenado em memória: cada palavra do nome normalizado gera uma chave "sufixo\0id",
+// de modo que "beat" encontra "The Beatles". Consultas são um range scan no skip list.
+class PrefixIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, SuggestionResponse> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysById = new ConcurrentHashMap<>();
+
+    synchronized void put(SuggestionResponse suggestion) {
+        remove(suggestion.getId());
+
+        List<String> keys = keysFor(suggestion);
+        keys.forEach(key -> entries.put(key, suggestion));
+        keysById.put(suggestion.getId(), keys);
+    }
+
+    synchronized void remove(Long id) {
+        List<String> keys = keysById.remove(id);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    int size() {
+        return keysById.size();
+    }
+
+    List<SuggestionResponse> search(String prefix, int limit) {
+        String normalized = SearchText.normalize(prefix);
+        if (normalized == null || normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        ConcurrentNavigableMap<String, SuggestionResponse> range =
+                entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+
+        Map<Long, SuggestionResponse> matches = new LinkedHashMap<>();
+        for (SuggestionResponse suggestion : range.values()) {
+            matches.putIfAbsent(suggestion.getId(), suggestion);
+            if (matches.size() == limit) break;
+        }
+
+        return new ArrayList<>(matches.values());
+    }
+
+    private List<String> keysFor(SuggestionResponse suggestion) {
+        String normalized = SearchText.normalize(suggestion.getName());
+        List<String> keys = new ArrayList<>();
+        if (normalized == null || normalized.isEmpty()) return keys;
+
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || (normalized.charAt(i - 1) == ' ' && normalized.charAt(i) != ' ')) {
+                keys.add(normalized.substring(i) + KEY_SEPARATOR + suggestion.getId());
+            }
+        }
+
+        return keys;
+    }
+}
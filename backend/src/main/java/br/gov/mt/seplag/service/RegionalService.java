@@ -5,27 +5,38 @@ import br.gov.mt.seplag.dto.RegionalResponse;
 import br.gov.mt.seplag.entity.Regional;
 import br.gov.mt.seplag.exception.ResourceNotFoundException;
 import br.gov.mt.seplag.repository.RegionalRepository;
+import br.gov.mt.seplag.util.SearchText;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
+// Leituras vêm do snapshot em memória e não abrem transação; só as escritas são transacionais
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 @Slf4j
 public class RegionalService {
 
     private final RegionalRepository regionalRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicReference<RegionalSnapshot> snapshot = new AtomicReference<>();
 
     private static final String API_URL = "https://integrador-argus-api.geia.vip/v1/regionais";
     private static final Duration TIMEOUT = Duration.ofSeconds(10);
@@ -36,37 +47,44 @@ public class RegionalService {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        reloadSnapshot();
+    }
+
     public List<RegionalResponse> findAll() {
-        return regionalRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return snapshot().all();
     }
 
     public List<RegionalResponse> findActive() {
-        return regionalRepository.findByAtivoTrue()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return snapshot().active();
     }
 
     public List<RegionalResponse> findInactive() {
-        return regionalRepository.findByAtivoFalse()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return snapshot().inactive();
+    }
+
+    public String collectionETag() {
+        return snapshot().etag();
+    }
+
+    public List<RegionalResponse> searchByNome(String nome) {
+        return snapshot().search(SearchText.normalize(nome));
     }
 
     public RegionalResponse findById(Integer id) {
-        Regional regional = regionalRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Regional não encontrada com ID: " + id));
+        RegionalResponse regional = snapshot().byId(id);
+        if (regional == null) {
+            throw new ResourceNotFoundException("Regional não encontrada com ID: " + id);
+        }
 
-        return toResponse(regional);
+        return regional;
     }
 
     @Transactional
     public RegionalResponse insert(RegionalRequest request, String username) {
         log.info("Criando nova regional: {} por {}", request.getNome(), username);
+        reloadSnapshotAfterCommit();
 
         if (request.getId() != null && regionalRepository.existsById(request.getId())) {
             throw new RuntimeException("Já existe uma regional com ID: " + request.getId());
@@ -88,6 +106,7 @@ public class RegionalService {
     @Transactional
     public RegionalResponse update(Integer id, RegionalRequest request, String username) {
         log.info("Atualizando regional ID={} por {}", id, username);
+        reloadSnapshotAfterCommit();
 
         Regional regional = regionalRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Regional não encontrada com ID: " + id));
@@ -112,6 +131,7 @@ public class RegionalService {
     @Transactional
     public void delete(Integer id, String username) {
         log.info("Deletando regional ID={} por {}", id, username);
+        reloadSnapshotAfterCommit();
 
         Regional regional = regionalRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Regional não encontrada com ID: " + id));
@@ -124,6 +144,7 @@ public class RegionalService {
     @Transactional
     public RegionalResponse inactivate(Integer id, String username) {
         log.info("Inativando regional ID={} por {}", id, username);
+        reloadSnapshotAfterCommit();
 
         Regional regional = regionalRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Regional não encontrada com ID: " + id));
@@ -139,6 +160,7 @@ public class RegionalService {
     @Transactional
     public RegionalResponse activate(Integer id, String username) {
         log.info("Reativando regional ID={} por {}", id, username);
+        reloadSnapshotAfterCommit();
 
         Regional regional = regionalRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Regional não encontrada com ID: " + id));
@@ -154,6 +176,7 @@ public class RegionalService {
     @Transactional
     public SyncResult synchronize(String username) {
         log.info("Iniciando sincronização com API externa: {} por {}", API_URL, username);
+        reloadSnapshotAfterCommit();
 
         try {
             String jsonResponse = webClient
@@ -259,6 +282,38 @@ public class RegionalService {
         }
     }
 
+    // Leituras não travam: só pegam a referência atual
+    private RegionalSnapshot snapshot() {
+        RegionalSnapshot current = snapshot.get();
+        return current != null ? current : reloadSnapshot();
+    }
+
+    // Recargas são serializadas para que um snapshot antigo nunca sobrescreva um mais novo
+    private synchronized RegionalSnapshot reloadSnapshot() {
+        TransactionTemplate reader = new TransactionTemplate(transactionManager);
+        reader.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        reader.setReadOnly(true);
+
+        RegionalSnapshot loaded = reader.execute(status -> RegionalSnapshot.of(regionalRepository.findAllResponses()));
+        snapshot.set(loaded);
+        log.debug("Snapshot de regionais recarregado: {} registros", loaded.size());
+        return loaded;
+    }
+
+    private void reloadSnapshotAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reloadSnapshot();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadSnapshot();
+            }
+        });
+    }
+
     private RegionalResponse toResponse(Regional regional) {
         return RegionalResponse.builder()
                 .id(regional.getId())
@@ -0,0 +1,94 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.RegionalResponse;
+import br.gov.mt.seplag.util.ETags;
+import br.gov.mt.seplag.util.SearchText;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cópia imutável da tabela de regionais. Nunca é alterada depois de criada:
+ * cada escrita gera um novo snapshot que substitui o anterior por inteiro.
+ */
+final class RegionalSnapshot {
+
+    private final RegionalResponse[] all;
+    private final RegionalResponse[] active;
+    private final RegionalResponse[] inactive;
+    private final RegionalResponse[] byNome;
+    private final String[] searchKeys;
+    private final Map<Integer, RegionalResponse> byId;
+    private final String etag;
+
+    private RegionalSnapshot(List<RegionalResponse> regionais) {
+        this.all = regionais.stream()
+                .sorted(Comparator.comparing(RegionalResponse::getId))
+                .toArray(RegionalResponse[]::new);
+        this.active = Arrays.stream(all)
+                .filter(regional -> Boolean.TRUE.equals(regional.getAtivo()))
+                .toArray(RegionalResponse[]::new);
+        this.inactive = Arrays.stream(all)
+                .filter(regional -> !Boolean.TRUE.equals(regional.getAtivo()))
+                .toArray(RegionalResponse[]::new);
+        this.byNome = Arrays.stream(all)
+                .sorted(Comparator.comparing(RegionalResponse::getNome))
+                .toArray(RegionalResponse[]::new);
+        this.searchKeys = Arrays.stream(byNome)
+                .map(regional -> SearchText.normalize(regional.getNome()))
+                .toArray(String[]::new);
+        this.byId = Map.copyOf(Arrays.stream(all)
+                .collect(Collectors.toMap(RegionalResponse::getId, Function.identity())));
+        this.etag = ETags.of("regionais", Arrays.stream(all)
+                .map(regional -> regional.getId() + "@" + regional.getUpdatedAt() + "@" + regional.getAtivo())
+                .collect(Collectors.joining(",")));
+    }
+
+    static RegionalSnapshot of(List<RegionalResponse> regionais) {
+        return new RegionalSnapshot(regionais);
+    }
+
+    List<RegionalResponse> all() {
+        return view(all);
+    }
+
+    List<RegionalResponse> active() {
+        return view(active);
+    }
+
+    List<RegionalResponse> inactive() {
+        return view(inactive);
+    }
+
+    RegionalResponse byId(Integer id) {
+        return byId.get(id);
+    }
+
+    List<RegionalResponse> search(String normalizedTerm) {
+        List<RegionalResponse> matches = new ArrayList<>();
+        for (int i = 0; i < searchKeys.length; i++) {
+            if (searchKeys[i] != null && searchKeys[i].contains(normalizedTerm)) {
+                matches.add(byNome[i]);
+            }
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    int size() {
+        return all.length;
+    }
+
+    String etag() {
+        return etag;
+    }
+
+    private static List<RegionalResponse> view(RegionalResponse[] regionais) {
+        return Collections.unmodifiableList(Arrays.asList(regionais));
+    }
+}
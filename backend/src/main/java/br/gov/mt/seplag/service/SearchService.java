@@ -0,0 +1,167 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.PageResponse;
+import br.gov.mt.seplag.dto.SearchResultResponse;
+import br.gov.mt.seplag.dto.SuggestionResponse;
+import br.gov.mt.seplag.exception.BadRequestException;
+import br.gov.mt.seplag.repository.AlbumRepository;
+import br.gov.mt.seplag.repository.ArtistRepository;
+import br.gov.mt.seplag.util.SearchText;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    static final int SCORE_EXACT = 100;
+    static final int SCORE_PREFIX = 75;
+    static final int SCORE_SUBSTRING = 50;
+    static final int SCORE_FUZZY = 25;
+
+    private static final int MAX_CANDIDATES_PER_TYPE = 200;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_TYPO_DISTANCE = 2;
+    private static final int MIN_TRIGRAM_TERM = 3;
+
+    private final ArtistRepository artistRepository;
+    private final AlbumRepository albumRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // pg_trgm só existe no PostgreSQL; no H2 (datasource padrão e testes) a busca usa só o LIKE em JPQL
+    private boolean trigramSearch;
+
+    private final ExecutorService searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void detectTrigramSupport() {
+        trigramSearch = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        if (!trigramSearch) {
+            log.info("Banco sem pg_trgm: busca unificada usará apenas correspondência por trecho");
+        }
+    }
+
+    public PageResponse<SearchResultResponse> search(String query, int page, int size) {
+        String normalized = SearchText.normalize(query);
+        if (normalized == null || normalized.isEmpty()) {
+            throw new BadRequestException("Termo de busca não pode ser vazio");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        // O banco escolhe os candidatos por similaridade trigram; a classificação final é feita em memória
+        boolean trigram = trigramSearch && normalized.length() >= MIN_TRIGRAM_TERM;
+        CompletableFuture<List<SuggestionResponse>> artists = CompletableFuture.supplyAsync(
+                () -> trigram
+                        ? artistRepository.searchSuggestions(normalized, MAX_CANDIDATES_PER_TYPE)
+                        : artistRepository.findSuggestionsContaining(normalized, PageRequest.of(0, MAX_CANDIDATES_PER_TYPE)),
+                searchExecutor);
+        CompletableFuture<List<SuggestionResponse>> albums = CompletableFuture.supplyAsync(
+                () -> trigram
+                        ? albumRepository.searchSuggestions(normalized, MAX_CANDIDATES_PER_TYPE)
+                        : albumRepository.findSuggestionsContaining(normalized, PageRequest.of(0, MAX_CANDIDATES_PER_TYPE)),
+                searchExecutor);
+
+        List<SearchResultResponse> ranked = new ArrayList<>();
+        try {
+            artists.join().forEach(s -> addScored(ranked, s, normalized));
+            albums.join().forEach(s -> addScored(ranked, s, normalized));
+        } catch (CompletionException e) {
+            log.error("Erro na busca unificada por '{}'", query, e.getCause());
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        ranked.sort(Comparator.comparingInt(SearchResultResponse::getScore).reversed()
+                .thenComparing(SearchResultResponse::getName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(SearchResultResponse::getType)
+                .thenComparing(SearchResultResponse::getId));
+
+        int from = Math.min(pageNumber * pageSize, ranked.size());
+        int to = Math.min(from + pageSize, ranked.size());
+        int totalPages = (ranked.size() + pageSize - 1) / pageSize;
+
+        return PageResponse.<SearchResultResponse>builder()
+                .content(new ArrayList<>(ranked.subList(from, to)))
+                .page(pageNumber)
+                .size(pageSize)
+                .totalElements(ranked.size())
+                .totalPages(totalPages)
+                .last(to >= ranked.size())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        searchExecutor.shutdown();
+    }
+
+    private void addScored(List<SearchResultResponse> ranked, SuggestionResponse suggestion, String normalizedQuery) {
+        int score = score(SearchText.normalize(suggestion.getName()), normalizedQuery);
+        if (score == 0) return;
+
+        ranked.add(SearchResultResponse.builder()
+                .id(suggestion.getId())
+                .name(suggestion.getName())
+                .type(suggestion.getType())
+                .score(score)
+                .build());
+    }
+
+    static int score(String name, String query) {
+        if (name == null || name.isEmpty()) return 0;
+        if (name.equals(query)) return SCORE_EXACT;
+        if (name.startsWith(query)) return SCORE_PREFIX;
+        if (name.contains(query)) return SCORE_SUBSTRING;
+
+        List<String> words = Arrays.asList(name.split("\\s+"));
+        for (String token : query.split("\\s+")) {
+            boolean matched = words.stream().anyMatch(word ->
+                    word.contains(token) || levenshtein(word, token) <= MAX_TYPO_DISTANCE);
+            if (!matched) return 0;
+        }
+        return SCORE_FUZZY;
+    }
+
+    private static int levenshtein(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > MAX_TYPO_DISTANCE) return MAX_TYPO_DISTANCE + 1;
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,275 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.entity.AlbumCover;
+import br.gov.mt.seplag.entity.StorageDeletion;
+import br.gov.mt.seplag.exception.ConflictException;
+import br.gov.mt.seplag.repository.CoverBlobRepository;
+import br.gov.mt.seplag.repository.StorageDeletionRepository;
+import br.gov.mt.seplag.util.CoverVariants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Remoções no MinIO passam por uma outbox: quem apaga capas só grava linhas em
+// storage_deletions na própria transação, e o worker remove os objetos depois,
+// sem conexão nem locks presos enquanto o MinIO responde.
+@Service
+@Slf4j
+public class StorageCleanupService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final CoverBlobRepository coverBlobRepository;
+    private final MinioClient minioInternalClient;
+    private final TransactionTemplate transactionTemplate;
+    private final String bucketName;
+    private final int batchSize;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+
+    private final Counter removed;
+    private final Counter failures;
+
+    public StorageCleanupService(StorageDeletionRepository storageDeletionRepository,
+                                 CoverBlobRepository coverBlobRepository,
+                                 @Qualifier("minioInternalClient") MinioClient minioInternalClient,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${minio.bucket-name}") String bucketName,
+                                 @Value("${storage.cleanup.batch-size:500}") int batchSize,
+                                 @Value("${storage.cleanup.base-backoff:PT30S}") Duration baseBackoff,
+                                 @Value("${storage.cleanup.max-backoff:PT1H}") Duration maxBackoff,
+                                 @Value("${storage.cleanup.claim-timeout:PT5M}") Duration claimTimeout) {
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.coverBlobRepository = coverBlobRepository;
+        this.minioInternalClient = minioInternalClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bucketName = bucketName;
+        // removeObjects aceita até 1000 chaves por requisição
+        this.batchSize = Math.min(batchSize, 1000);
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+
+        this.removed = Counter.builder("storage.cleanup.removed")
+                .description("Objetos removidos do MinIO pela outbox")
+                .register(meterRegistry);
+        this.failures = Counter.builder("storage.cleanup.failures")
+                .description("Remoções que falharam e foram reagendadas")
+                .register(meterRegistry);
+    }
+
+    // Solta a referência da capa ao objeto; se era a última, agenda a remoção do objeto e das miniaturas
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseCover(AlbumCover cover) {
+        String contentHash = cover.getContentHash();
+        if (contentHash != null) {
+            coverBlobRepository.release(contentHash);
+            if (coverBlobRepository.findRefCount(contentHash).orElse(0) > 0) {
+                log.debug("Objeto {} ainda em uso por outras capas", cover.getMinioKey());
+                return;
+            }
+        }
+
+        String minioKey = normalizeObjectKey(cover.getMinioKey());
+        List<String> keys = new ArrayList<>();
+        keys.add(minioKey);
+        for (int width : CoverVariants.parseWidths(cover.getVariantWidths())) {
+            keys.add(CoverVariants.keyFor(minioKey, width));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        storageDeletionRepository.saveAll(keys.stream()
+                .map(key -> StorageDeletion.builder()
+                        .objectKey(key)
+                        .contentHash(contentHash)
+                        .attempts(0)
+                        .nextAttemptAt(now)
+                        .build())
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${storage.cleanup.poll-interval:PT5S}")
+    public void drain() {
+        int processed;
+        do {
+            processed = drainBatch();
+        } while (processed == batchSize);
+    }
+
+    // Chamado antes de gravar o objeto de um conteúdo sem blob: descarta as remoções
+    // pendentes dele; se um worker já reivindicou a remoção, o objeto recém-gravado
+    // poderia ser apagado em seguida, então o upload é recusado até ela terminar
+    @Transactional
+    public void cancelDeletions(String contentHash) {
+        LocalDateTime now = LocalDateTime.now();
+        storageDeletionRepository.deleteUnclaimed(contentHash, now);
+        if (storageDeletionRepository.existsActiveClaim(contentHash, now)) {
+            throw new ConflictException("Imagem sendo removida do armazenamento; tente novamente em instantes");
+        }
+    }
+
+    // O lote é reivindicado numa transação curta, os objetos são removidos fora de
+    // transação e o resultado é gravado numa segunda transação curta. Se o worker cair
+    // no meio, a reivindicação expira em claim-timeout e o lote volta para a fila.
+    int drainBatch() {
+        Batch batch;
+        try {
+            batch = transactionTemplate.execute(status -> claimBatch());
+        } catch (RuntimeException e) {
+            log.error("Erro ao reivindicar remoções pendentes no MinIO", e);
+            return 0;
+        }
+        if (batch == null) return 0;
+        if (batch.claimed().isEmpty()) return batch.due();
+
+        Map<String, String> errors = removeObjects(batch.claimed());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordResults(batch.claimed(), errors));
+        } catch (RuntimeException e) {
+            log.error("Erro ao registrar remoções feitas no MinIO; o lote será retomado", e);
+        }
+        return batch.due();
+    }
+
+    private record Batch(int due, List<StorageDeletion> claimed) {
+    }
+
+    // Blobs sem referência são apagados aqui: um upload do mesmo conteúdo a partir
+    // daí grava o objeto de novo, respeitando a reivindicação (cancelDeletions)
+    private Batch claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StorageDeletion> due = storageDeletionRepository.findDue(now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) return new Batch(0, List.of());
+
+        List<StorageDeletion> skipped = new ArrayList<>();
+        List<StorageDeletion> claimed = new ArrayList<>();
+        Map<String, Boolean> referenced = new HashMap<>();
+        for (StorageDeletion deletion : due) {
+            String hash = deletion.getContentHash();
+            if (hash != null && referenced.computeIfAbsent(hash, this::isReferenced)) {
+                skipped.add(deletion);
+            } else {
+                claimed.add(deletion);
+            }
+        }
+
+        storageDeletionRepository.deleteAllInBatch(skipped);
+
+        LocalDateTime claimExpiresAt = now.plus(claimTimeout);
+        for (StorageDeletion deletion : claimed) {
+            deletion.setClaimedAt(now);
+            deletion.setNextAttemptAt(claimExpiresAt);
+        }
+        return new Batch(due.size(), claimed);
+    }
+
+    private void recordResults(List<StorageDeletion> claimed, Map<String, String> errors) {
+        List<Long> removedIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        for (StorageDeletion deletion : claimed) {
+            (errors.containsKey(deletion.getObjectKey()) ? failedIds : removedIds).add(deletion.getId());
+        }
+
+        storageDeletionRepository.deleteAllByIdInBatch(removedIds);
+        removed.increment(removedIds.size());
+
+        if (failedIds.isEmpty()) return;
+        for (StorageDeletion deletion : storageDeletionRepository.findAllById(failedIds)) {
+            reschedule(deletion, errors.get(deletion.getObjectKey()));
+        }
+    }
+
+    private boolean isReferenced(String contentHash) {
+        return coverBlobRepository.deleteIfUnreferenced(contentHash) == 0
+                && coverBlobRepository.existsById(contentHash);
+    }
+
+    private Map<String, String> removeObjects(List<StorageDeletion> deletions) {
+        Set<String> keys = new HashSet<>();
+        List<DeleteObject> objects = new ArrayList<>();
+        for (StorageDeletion deletion : deletions) {
+            if (keys.add(deletion.getObjectKey())) {
+                objects.add(new DeleteObject(deletion.getObjectKey()));
+            }
+        }
+
+        Map<String, String> errors = new HashMap<>();
+        try {
+            // O resultado é preguiçoso: a requisição só acontece ao iterar
+            Iterable<Result<DeleteError>> results = minioInternalClient.removeObjects(
+                    RemoveObjectsArgs.builder()
+                            .bucket(bucketName)
+                            .objects(objects)
+                            .build()
+            );
+            for (Result<DeleteError> result : results) {
+                DeleteError error = result.get();
+                errors.put(error.objectName(), error.code() + ": " + error.message());
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao remover {} objetos do MinIO; nova tentativa agendada", objects.size(), e);
+            keys.forEach(key -> errors.put(key, String.valueOf(e.getMessage())));
+        }
+        return errors;
+    }
+
+    private void reschedule(StorageDeletion deletion, String error) {
+        int attempts = deletion.getAttempts() + 1;
+        deletion.setAttempts(attempts);
+        deletion.setClaimedAt(null);
+        deletion.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        deletion.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        failures.increment();
+        log.warn("Remoção de {} falhou (tentativa {}): {}", deletion.getObjectKey(), attempts, error);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String normalizeObjectKey(String key) {
+        if (key == null) return null;
+
+        String k = key.trim();
+        if (k.startsWith("/")) k = k.substring(1);
+
+        String bucketPrefix = bucketName + "/";
+        if (k.startsWith(bucketPrefix)) {
+            k = k.substring(bucketPrefix.length());
+        }
+
+        if (k.startsWith("albums/")) {
+            k = k.substring("albums/".length());
+        }
+
+        return k;
+    }
+}
@@ -0,0 +1,45 @@
+package br.gov.mt.seplag.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+// Capas são gravadas pelo SHA-256 do conteúdo: o mesmo arquivo enviado para
+// vários álbuns vira um único objeto no MinIO ("sha256/ab/ab12...").
+public final class CoverBlobs {
+
+    private static final String KEY_PREFIX = "sha256/";
+
+    private CoverBlobs() {
+    }
+
+    public static String keyFor(String contentHash) {
+        return KEY_PREFIX + contentHash.substring(0, 2) + "/" + contentHash;
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    public static String hashOf(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(content, digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Valor do campo x-amz-checksum-sha256: o mesmo digest, em Base64
+    public static String checksumOf(String contentHash) {
+        return Base64.getEncoder().encodeToString(HexFormat.of().parseHex(contentHash));
+    }
+}
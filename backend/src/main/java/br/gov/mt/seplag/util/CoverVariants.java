@@ -0,0 +1,56 @@
+package br.gov.mt.seplag.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Variantes de capa são gravadas ao lado do objeto original (CoverBlobs.keyFor):
+// "sha256/ab/ab12..." -> "sha256/ab/ab12..._w256.jpg".
+// No banco fica apenas a lista de larguras geradas ("64,256,768").
+public final class CoverVariants {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    private CoverVariants() {
+    }
+
+    public static String keyFor(String minioKey, int width) {
+        int dot = minioKey.lastIndexOf('.');
+        int slash = minioKey.lastIndexOf('/');
+        String base = dot > slash ? minioKey.substring(0, dot) : minioKey;
+        return base + "_w" + width + ".jpg";
+    }
+
+    public static String joinWidths(Collection<Integer> widths) {
+        return widths.stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    public static int[] parseWidths(String widths) {
+        if (widths == null || widths.isBlank()) {
+            return new int[0];
+        }
+        return Arrays.stream(widths.split(","))
+                .map(String::trim)
+                .filter(width -> !width.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .sorted()
+                .toArray();
+    }
+
+    public static Map<Integer, String> urls(String minioKey, String widths, Function<String, String> publicUrl) {
+        Map<Integer, String> urls = new TreeMap<>();
+        if (minioKey == null) {
+            return urls;
+        }
+        for (int width : parseWidths(widths)) {
+            urls.put(width, publicUrl.apply(keyFor(minioKey, width)));
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,60 @@
+package br.gov.mt.seplag.util;
+
+import br.gov.mt.seplag.dto.AlbumCoverResponse;
+import br.gov.mt.seplag.dto.AlbumResponse;
+import br.gov.mt.seplag.dto.ArtistResponse;
+import br.gov.mt.seplag.dto.RegionalResponse;
+import org.springframework.http.CacheControl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public final class ETags {
+
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    public static String forAlbum(AlbumResponse album) {
+        String artists = album.getArtists().stream()
+                .map(artist -> artist.getId() + "@" + artist.getUpdatedAt())
+                .sorted()
+                .collect(Collectors.joining(","));
+
+        // As variantes são gravadas depois do upload: entram no ETag para que o cliente as receba
+        String covers = album.getCovers().stream()
+                .sorted(Comparator.comparing(AlbumCoverResponse::getId))
+                .map(cover -> cover.getId() + "@" + (cover.getVariants() == null ? "" : new TreeSet<>(cover.getVariants().keySet())))
+                .collect(Collectors.joining(","));
+
+        return of("album", album.getId(), album.getUpdatedAt(), artists, covers);
+    }
+
+    public static String forArtist(ArtistResponse artist) {
+        return of("artist", artist.getId(), artist.getUpdatedAt(), artist.getAlbumCount());
+    }
+
+    public static String forRegional(RegionalResponse regional) {
+        return of("regional", regional.getId(), regional.getUpdatedAt(), regional.getAtivo());
+    }
+
+    public static String of(Object... parts) {
+        String raw = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.gov.mt.seplag.util;
+
+import br.gov.mt.seplag.dto.BatchGetResponse;
+import br.gov.mt.seplag.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class IdLists {
+
+    public static final int MAX_BATCH_GET_IDS = 100;
+
+    private IdLists() {
+    }
+
+    public static List<Long> distinct(List<Long> ids) {
+        List<Long> distinct = ids == null
+                ? List.of()
+                : new ArrayList<>(new LinkedHashSet<>(ids.stream().filter(Objects::nonNull).toList()));
+
+        if (distinct.isEmpty()) {
+            throw new BadRequestException("Informe ao menos um ID");
+        }
+        if (distinct.size() > MAX_BATCH_GET_IDS) {
+            throw new BadRequestException("Máximo de " + MAX_BATCH_GET_IDS + " IDs por requisição");
+        }
+        return distinct;
+    }
+
+    public static <T> BatchGetResponse<T> inRequestOrder(List<Long> ids, List<T> found, Function<T, Long> idOf) {
+        Map<Long, T> byId = found.stream().collect(Collectors.toMap(idOf, Function.identity()));
+
+        List<T> content = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T item = byId.get(id);
+            if (item != null) {
+                content.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        return BatchGetResponse.<T>builder()
+                .content(content)
+                .missingIds(missing)
+                .build();
+    }
+}
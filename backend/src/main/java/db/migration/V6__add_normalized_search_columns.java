@@ -0,0 +1,61 @@
+package db.migration;
+
+import br.gov.mt.seplag.util.SearchText;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Colunas de busca normalizadas (sem acento, minúsculas), mantidas pela aplicação na escrita
+// (@PrePersist/@PreUpdate via SearchText.normalize) e indexadas com trigram.
+// O preenchimento inicial usa o mesmo SearchText.normalize: unaccent() do Postgres diverge
+// em letras como ø, ß, æ, œ e ł, e as linhas antigas deixariam de casar com os termos buscados.
+public class V6__add_normalized_search_columns extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE albums ADD COLUMN title_search VARCHAR(200)");
+            statement.execute("ALTER TABLE artists ADD COLUMN name_search VARCHAR(200)");
+        }
+
+        backfill(connection, "albums", "title", "title_search");
+        backfill(connection, "artists", "name", "name_search");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_albums_title_search_trgm ON albums USING GIN (title_search gin_trgm_ops)");
+            statement.execute("CREATE INDEX idx_artists_name_search_trgm ON artists USING GIN (name_search gin_trgm_ops)");
+        }
+    }
+
+    private void backfill(Connection connection, String table, String source, String target) throws Exception {
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE " + table + " SET " + target + " = ? WHERE id = ?")) {
+
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery("SELECT id, " + source + " FROM " + table)) {
+                int pending = 0;
+                while (rows.next()) {
+                    update.setString(1, SearchText.normalize(rows.getString(2)));
+                    update.setLong(2, rows.getLong(1));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- V10__add_album_catalog_query_indexes.sql
+-- Índices para GET /api/v1/albums/query sem filtro de tipo (banda/solo).
+-- Com filtro de tipo, os índices parciais de V8/V9 atendem a mesma combinação de faixa de ano e ordenação.
+
+CREATE INDEX idx_album_catalog_year_id ON album_catalog (release_year, album_id);
+CREATE INDEX idx_album_catalog_title_id ON album_catalog (title, album_id);
@@ -0,0 +1,10 @@
+-- V11__add_album_cover_variants.sql
+-- Larguras das miniaturas já geradas para cada capa ("64,256,768").
+-- As chaves no MinIO são derivadas da chave original, então basta guardar as larguras.
+
+-- updated_at muda quando as variantes são gravadas e entra nos ETags das capas.
+
+ALTER TABLE album_covers ADD COLUMN variant_widths VARCHAR(50);
+ALTER TABLE album_covers ADD COLUMN updated_at TIMESTAMP;
+
+UPDATE album_covers SET updated_at = created_at;
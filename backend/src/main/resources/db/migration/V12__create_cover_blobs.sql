@@ -0,0 +1,17 @@
+-- V12__create_cover_blobs.sql
+-- Armazenamento de capas endereçado por conteúdo: cada arquivo distinto vira um
+-- único objeto no MinIO, compartilhado pelas capas que apontam para o mesmo hash.
+-- Capas antigas ficam com content_hash nulo e continuam com o objeto exclusivo.
+
+CREATE TABLE cover_blobs (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    minio_key VARCHAR(500) NOT NULL,
+    content_type VARCHAR(100),
+    file_size BIGINT,
+    ref_count INTEGER NOT NULL CHECK (ref_count >= 0),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE album_covers ADD COLUMN content_hash VARCHAR(64);
+
+CREATE INDEX idx_album_covers_content_hash ON album_covers (content_hash);
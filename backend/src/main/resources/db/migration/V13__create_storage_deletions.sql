@@ -0,0 +1,22 @@
+-- V13__create_storage_deletions.sql
+-- Outbox de remoções no MinIO: gravada na mesma transação que apaga a capa/álbum
+-- e esvaziada por um worker com removeObjects em lote, retentativas e backoff.
+-- content_hash preenchido indica objeto endereçado por conteúdo: se o blob voltar
+-- a ser referenciado antes da remoção, a linha é descartada sem apagar o objeto.
+-- claimed_at marca o lote reivindicado por um worker enquanto ele chama o MinIO fora de
+-- transação; a reivindicação expira em next_attempt_at.
+
+CREATE SEQUENCE storage_deletions_seq INCREMENT BY 50;
+
+CREATE TABLE storage_deletions (
+    id BIGINT PRIMARY KEY,
+    object_key VARCHAR(500) NOT NULL,
+    content_hash VARCHAR(64),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    claimed_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_storage_deletions_next_attempt ON storage_deletions (next_attempt_at, id);
@@ -0,0 +1,4 @@
+-- Índice composto para paginação por cursor (keyset) em álbuns
+-- Permite ORDER BY title, id com LIMIT via index scan, sem sort completo
+
+CREATE INDEX idx_albums_title_id ON albums(title, id);
@@ -0,0 +1,5 @@
+-- V5__create_trigram_search_indexes.sql
+-- Extensão pg_trgm para busca por substring (LIKE '%termo%') e por similaridade.
+-- Os índices GIN são criados em V6, sobre as colunas normalizadas que as buscas consultam.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
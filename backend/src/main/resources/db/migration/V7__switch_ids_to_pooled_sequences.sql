@@ -0,0 +1,29 @@
+-- V7__switch_ids_to_pooled_sequences.sql
+-- Troca BIGSERIAL (IDENTITY) por sequências com incremento 50 para o otimizador pooled do Hibernate,
+-- permitindo inserts em lote via JDBC. O valor da sequência é o limite superior do bloco alocado,
+-- por isso cada sequência começa em MAX(id) + 50.
+
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+CREATE SEQUENCE artists_seq INCREMENT BY 50;
+CREATE SEQUENCE albums_seq INCREMENT BY 50;
+CREATE SEQUENCE album_covers_seq INCREMENT BY 50;
+CREATE SEQUENCE refresh_tokens_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+SELECT setval('artists_seq', COALESCE(MAX(id), 0) + 50, false) FROM artists;
+SELECT setval('albums_seq', COALESCE(MAX(id), 0) + 50, false) FROM albums;
+SELECT setval('album_covers_seq', COALESCE(MAX(id), 0) + 50, false) FROM album_covers;
+SELECT setval('refresh_tokens_seq', COALESCE(MAX(id), 0) + 50, false) FROM refresh_tokens;
+
+-- Remove os defaults do BIGSERIAL para que nenhum insert fora do Hibernate colida com os blocos alocados
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE artists ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE albums ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE album_covers ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP DEFAULT;
+
+DROP SEQUENCE IF EXISTS users_id_seq;
+DROP SEQUENCE IF EXISTS artists_id_seq;
+DROP SEQUENCE IF EXISTS albums_id_seq;
+DROP SEQUENCE IF EXISTS album_covers_id_seq;
+DROP SEQUENCE IF EXISTS refresh_tokens_id_seq;
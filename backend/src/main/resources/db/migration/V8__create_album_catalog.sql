@@ -0,0 +1,40 @@
+-- V8__create_album_catalog.sql
+-- Modelo de leitura desnormalizado por álbum, mantido pela aplicação a cada escrita (AlbumCatalogService).
+-- Evita o JOIN + DISTINCT com artist_albums/artists nas listagens de bandas/solo e na busca.
+-- search_text parte das colunas já normalizadas por SearchText.normalize (V6), como faz a aplicação.
+
+CREATE TABLE album_catalog (
+                               album_id BIGINT PRIMARY KEY,
+                               title VARCHAR(200) NOT NULL,
+                               release_year INTEGER,
+                               has_band BOOLEAN NOT NULL DEFAULT FALSE,
+                               has_solo BOOLEAN NOT NULL DEFAULT FALSE,
+                               artist_count INTEGER NOT NULL DEFAULT 0,
+                               cover_count INTEGER NOT NULL DEFAULT 0,
+                               primary_cover_key VARCHAR(500),
+                               search_text VARCHAR(4000),
+                               updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                               FOREIGN KEY (album_id) REFERENCES albums(id) ON DELETE CASCADE
+);
+
+INSERT INTO album_catalog (album_id, title, release_year, has_band, has_solo, artist_count, cover_count,
+                           primary_cover_key, search_text, updated_at)
+SELECT a.id,
+       a.title,
+       a.release_year,
+       COALESCE(BOOL_OR(ar.is_band), FALSE),
+       COALESCE(BOOL_OR(NOT ar.is_band), FALSE),
+       COUNT(ar.id),
+       (SELECT COUNT(*) FROM album_covers c WHERE c.album_id = a.id),
+       (SELECT c.minio_key FROM album_covers c WHERE c.album_id = a.id ORDER BY c.id LIMIT 1),
+       LEFT(CONCAT_WS(' ', a.title_search, STRING_AGG(ar.name_search, ' ' ORDER BY ar.id)), 4000),
+       CURRENT_TIMESTAMP
+FROM albums a
+         LEFT JOIN artist_albums aa ON aa.album_id = a.id
+         LEFT JOIN artists ar ON ar.id = aa.artist_id
+GROUP BY a.id, a.title, a.release_year, a.title_search;
+
+-- Varreduras por faixa já na ordem padrão das listagens (título, id)
+CREATE INDEX idx_album_catalog_band_title ON album_catalog (title, album_id) WHERE has_band;
+CREATE INDEX idx_album_catalog_solo_title ON album_catalog (title, album_id) WHERE has_solo;
+CREATE INDEX idx_album_catalog_search_trgm ON album_catalog USING GIN (search_text gin_trgm_ops);
@@ -0,0 +1,8 @@
+-- V9__add_album_catalog_sort_indexes.sql
+-- Índices para as chaves de ordenação aceitas em /bands e /solo (AlbumSort).
+-- title já é coberto por idx_album_catalog_band_title / idx_album_catalog_solo_title (V8).
+
+CREATE INDEX idx_album_catalog_band_year ON album_catalog (release_year, album_id) WHERE has_band;
+CREATE INDEX idx_album_catalog_solo_year ON album_catalog (release_year, album_id) WHERE has_solo;
+CREATE INDEX idx_album_catalog_band_id ON album_catalog (album_id) WHERE has_band;
+CREATE INDEX idx_album_catalog_solo_id ON album_catalog (album_id) WHERE has_solo;
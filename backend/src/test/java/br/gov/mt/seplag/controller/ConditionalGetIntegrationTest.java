@@ -0,0 +1,179 @@
+package br.gov.mt.seplag.controller;
+
+import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.entity.User;
+import br.gov.mt.seplag.repository.ArtistRepository;
+import br.gov.mt.seplag.repository.RefreshTokenRepository;
+import br.gov.mt.seplag.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String accessToken;
+    private Artist artist;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+
+        userRepository.saveAndFlush(User.builder()
+                .username("etaguser")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+
+        artist = artistRepository.saveAndFlush(Artist.builder().name("Legião Urbana").isBand(true).build());
+
+        MvcResult login = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", "etaguser",
+                                "password", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        accessToken = objectMapper.readTree(login.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+
+    @AfterEach
+    void tearDown() {
+        artistRepository.deleteAll();
+    }
+
+    private String bearer() {
+        return "Bearer " + accessToken;
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 quando If-None-Match corresponde ao ETag do artista")
+    void findById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/v1/artists/" + artist.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/artists/" + artist.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Deve gerar novo ETag da listagem após alteração de artista")
+    void findAll_ShouldChangeETag_WhenArtistIsUpdated() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/v1/artists")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/artists")
+                        .header(HttpHeaders.AUTHORIZATION, bearer())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // When
+        mockMvc.perform(put("/api/v1/artists/" + artist.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "Legião", "isBand", true))))
+                .andExpect(status().isOk());
+
+        // Then
+        MvcResult result = mockMvc.perform(get("/api/v1/artists")
+                        .header(HttpHeaders.AUTHORIZATION, bearer())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Deve refletir escrita de regional no snapshot e no ETag da listagem")
+    void regionais_ShouldRefreshSnapshot_AfterCommittedWrite() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/v1/regionais")
+                        .header(HttpHeaders.AUTHORIZATION, bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("id", 9001, "nome", "Regional Teste", "ativo", true))))
+                .andExpect(status().isCreated());
+
+        MvcResult active = mockMvc.perform(get("/api/v1/regionais/active")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$[?(@.id == 9001)]").exists())
+                .andReturn();
+        String etag = active.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        mockMvc.perform(patch("/api/v1/regionais/9001/inactivate")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/v1/regionais/active")
+                        .header(HttpHeaders.AUTHORIZATION, bearer())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == 9001)]").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/regionais/9001")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ativo").value(false));
+
+        mockMvc.perform(delete("/api/v1/regionais/9001")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/regionais/9001")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isNotFound());
+    }
+}
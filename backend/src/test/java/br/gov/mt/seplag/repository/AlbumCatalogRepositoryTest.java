@@ -0,0 +1,288 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.AlbumCatalog;
+import br.gov.mt.seplag.entity.AlbumCover;
+import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.service.AlbumCatalogService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(AlbumCatalogService.class)
+@ActiveProfiles("test")
+@DisplayName("AlbumCatalogRepository Integration Tests")
+class AlbumCatalogRepositoryTest {
+
+    @Autowired
+    private AlbumCatalogService albumCatalogService;
+
+    @Autowired
+    private AlbumCatalogRepository albumCatalogRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Artist band;
+    private Artist solo;
+    private Album bandAlbum;
+    private Album collab;
+
+    @BeforeEach
+    void setUp() {
+        band = entityManager.persist(Artist.builder().name("Legião Urbana").isBand(true).build());
+        solo = entityManager.persist(Artist.builder().name("Cássia Eller").isBand(false).build());
+
+        bandAlbum = entityManager.persist(Album.builder()
+                .title("Dois")
+                .releaseYear(1986)
+                .artists(new HashSet<>(Set.of(band)))
+                .build());
+        collab = entityManager.persist(Album.builder()
+                .title("Acústico")
+                .releaseYear(1999)
+                .artists(new HashSet<>(Set.of(band, solo)))
+                .build());
+
+        entityManager.persist(AlbumCover.builder()
+                .album(collab)
+                .fileName("capa.jpg")
+                .minioKey("covers/capa.jpg")
+                .contentType("image/jpeg")
+                .fileSize(10L)
+                .build());
+
+        albumCatalogService.refresh(List.of(bandAlbum.getId(), collab.getId()));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve calcular flags, contagens, capa principal e texto de busca")
+    void refresh_ShouldDenormalizeAlbum() {
+        // When
+        AlbumCatalog entry = albumCatalogRepository.findById(collab.getId()).orElseThrow();
+
+        // Then
+        assertThat(entry.isHasBand()).isTrue();
+        assertThat(entry.isHasSolo()).isTrue();
+        assertThat(entry.getArtistCount()).isEqualTo(2);
+        assertThat(entry.getCoverCount()).isEqualTo(1);
+        assertThat(entry.getPrimaryCoverKey()).isEqualTo("covers/capa.jpg");
+        assertThat(entry.getSearchText()).contains("acustico", "legiao urbana", "cassia eller");
+    }
+
+    @Test
+    @DisplayName("Deve listar bandas e solo a partir do catálogo")
+    void findBandAndSoloAlbums_ShouldReadCatalog() {
+        // When
+        List<Album> bands = albumCatalogRepository.findBandAlbums(PageRequest.of(0, 10, Sort.by("title"))).getContent();
+        List<Album> solos = albumCatalogRepository.findSoloAlbums(PageRequest.of(0, 10, Sort.by("title"))).getContent();
+
+        // Then
+        assertThat(bands).extracting(Album::getTitle).containsExactly("Acústico", "Dois");
+        assertThat(solos).extracting(Album::getTitle).containsExactly("Acústico");
+    }
+
+    @Test
+    @DisplayName("Deve paginar álbuns de bandas por cursor (título, id) sem repetir itens")
+    void findBandAlbumsAfter_ShouldPageByKeyset() {
+        // Given
+        seedBandAlbums(5);
+        entityManager.flush();
+        entityManager.clear();
+        Pageable limit = PageRequest.of(0, 4);
+
+        // When
+        Slice<Album> first = albumCatalogRepository.findBandAlbumsOrderByTitleAsc(limit);
+        Album last = first.getContent().get(first.getContent().size() - 1);
+        Slice<Album> second = albumCatalogRepository.findBandAlbumsAfterOrderByTitleAsc(
+                last.getTitle(), last.getId(), limit);
+
+        // Then
+        assertThat(first.getContent()).extracting(Album::getTitle)
+                .containsExactly("Acústico", "Dois", "Seed Album 0", "Seed Album 1");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Album::getTitle)
+                .containsExactly("Seed Album 2", "Seed Album 3", "Seed Album 4");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve paginar álbuns solo por cursor em ordem decrescente")
+    void findSoloAlbumsAfter_ShouldPageDescending() {
+        // Given
+        Album extra = entityManager.persist(Album.builder()
+                .title("Veneno Antimonotonia")
+                .artists(new HashSet<>(Set.of(entityManager.find(Artist.class, solo.getId()))))
+                .build());
+        entityManager.flush();
+        albumCatalogService.refresh(List.of(extra.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        Pageable limit = PageRequest.of(0, 1);
+
+        // When
+        Slice<Album> first = albumCatalogRepository.findSoloAlbumsOrderByTitleDesc(limit);
+        Album last = first.getContent().get(0);
+        Slice<Album> second = albumCatalogRepository.findSoloAlbumsAfterOrderByTitleDesc(
+                last.getTitle(), last.getId(), limit);
+
+        // Then
+        assertThat(first.getContent()).extracting(Album::getTitle).containsExactly("Veneno Antimonotonia");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Album::getTitle).containsExactly("Acústico");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Listagem paginada de bandas deve manter número de queries constante")
+    void findBandAlbums_ShouldKeepStatementCountConstant() {
+        // Given
+        seedBandAlbums(5);
+        long smallCatalogue = countStatementsLoadingBandPage();
+
+        seedBandAlbums(40);
+        long largeCatalogue = countStatementsLoadingBandPage();
+
+        // Then
+        assertThat(largeCatalogue).isEqualTo(smallCatalogue);
+    }
+
+    @Test
+    @DisplayName("Deve encontrar álbum pelo nome do artista na busca")
+    void search_ShouldMatchArtistNames() {
+        // When
+        List<Album> found = albumCatalogRepository.search("cassia");
+
+        // Then
+        assertThat(found).extracting(Album::getTitle).containsExactly("Acústico");
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o catálogo quando o artista muda de tipo")
+    void refresh_ShouldFollowArtistChanges() {
+        // Given
+        Artist managedSolo = entityManager.find(Artist.class, solo.getId());
+        managedSolo.setIsBand(true);
+
+        // When
+        albumCatalogService.refresh(List.of(collab.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        AlbumCatalog entry = albumCatalogRepository.findById(collab.getId()).orElseThrow();
+        assertThat(entry.isHasSolo()).isFalse();
+        assertThat(entry.isHasBand()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o catálogo quando estiver defasado")
+    void rebuildIfStale_ShouldFillMissingEntries() {
+        // Given
+        albumCatalogRepository.deleteAll();
+        entityManager.flush();
+
+        // When
+        albumCatalogService.rebuildIfStale();
+
+        // Then
+        assertThat(albumCatalogRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve combinar filtros de título, ano, artista e tipo em uma consulta")
+    void findAll_ShouldCombineSpecifications() {
+        // Given
+        Specification<AlbumCatalog> spec = Specification.where(AlbumCatalogSpecifications.hasBand())
+                .and(AlbumCatalogSpecifications.releasedFrom(1990))
+                .and(AlbumCatalogSpecifications.releasedUntil(1999))
+                .and(AlbumCatalogSpecifications.withArtist(solo.getId()))
+                .and(AlbumCatalogSpecifications.titleContains("acust"));
+
+        // When
+        Page<AlbumCatalog> page = albumCatalogRepository.findAll(spec, PageRequest.of(0, 10, Sort.by("title")));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent().get(0).getAlbum().getTitle()).isEqualTo("Acústico");
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio quando o artista não participa dos álbuns no intervalo")
+    void findAll_ShouldFilterOutNonMatchingArtist() {
+        // Given
+        Specification<AlbumCatalog> spec = Specification.where(AlbumCatalogSpecifications.withArtist(solo.getId()))
+                .and(AlbumCatalogSpecifications.releasedUntil(1990));
+
+        // When
+        Page<AlbumCatalog> page = albumCatalogRepository.findAll(spec, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    private void seedBandAlbums(int count) {
+        Artist managedBand = entityManager.find(Artist.class, band.getId());
+        List<Long> ids = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Album album = entityManager.persist(Album.builder()
+                    .title("Seed Album " + i)
+                    .artists(new HashSet<>(Set.of(managedBand)))
+                    .build());
+            entityManager.persist(AlbumCover.builder()
+                    .album(album)
+                    .fileName("cover-" + i + ".jpg")
+                    .minioKey("seed/cover-" + i + ".jpg")
+                    .contentType("image/jpeg")
+                    .fileSize(1024L)
+                    .build());
+            ids.add(album.getId());
+        }
+
+        entityManager.flush();
+        albumCatalogService.refresh(ids);
+    }
+
+    // Mesmo acesso do AlbumService.findAlbumsByBands: página do catálogo + artistas e capas de cada álbum
+    private long countStatementsLoadingBandPage() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        for (Album album : albumCatalogRepository.findBandAlbums(PageRequest.of(0, 50, Sort.by("title"))).getContent()) {
+            album.getArtists().forEach(Artist::getName);
+            album.getCovers().forEach(AlbumCover::getMinioKey);
+        }
+
+        return statistics.getPrepareStatementCount();
+    }
+}
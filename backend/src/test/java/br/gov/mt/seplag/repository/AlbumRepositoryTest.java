@@ -1,26 +1,36 @@
 package br.gov.mt.seplag.repository;
 
+import br.gov.mt.seplag.dto.AlbumSimpleResponse;
 import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.AlbumCover;
 import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.util.SearchText;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest(properties = {
-        "spring.flyway.enabled=false"
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
 })
 @ActiveProfiles("test")
 @DisplayName("AlbumRepository Integration Tests")
@@ -32,6 +42,9 @@ class AlbumRepositoryTest {
     @Autowired
     private ArtistRepository artistRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Artist soloArtist;
     private Artist band;
     private Album album1;
@@ -95,53 +108,65 @@ class AlbumRepositoryTest {
     }
 
     @Test
-    @DisplayName("Deve buscar álbuns por título (case-insensitive)")
-    void shouldFindAlbumsByTitle() {
+    @DisplayName("Deve buscar álbuns por trecho do título normalizado")
+    void shouldSearchAlbumsByTitleSubstring() {
         // When
-        List<Album> found = albumRepository.findByTitleContainingIgnoreCase("solo");
+        List<Album> found = albumRepository.searchByTitle("and alb");
 
         // Then
-        assertThat(found).hasSize(1);
-        assertThat(found.get(0).getTitle()).isEqualTo("Solo Album");
+        assertThat(found).extracting(Album::getTitle).containsExactly("Band Album");
     }
 
     @Test
-    @DisplayName("Deve buscar álbuns por ano de lançamento")
-    void shouldFindAlbumsByReleaseYear() {
+    @DisplayName("Deve buscar álbuns ignorando acentos e maiúsculas")
+    void shouldSearchAlbumsIgnoringAccents() {
+        // Given
+        albumRepository.save(Album.builder()
+                .title("Canções de São Paulo")
+                .releaseYear(1998)
+                .artists(new HashSet<>(Set.of(band)))
+                .covers(new HashSet<>())
+                .build());
+
         // When
-        List<Album> found = albumRepository.findByReleaseYear(2020);
+        List<Album> found = albumRepository.searchByTitle(SearchText.normalize("CANCOES de sao"));
 
         // Then
-        assertThat(found).hasSize(1);
-        assertThat(found.get(0).getTitle()).isEqualTo("Solo Album");
+        assertThat(found).extracting(Album::getTitle).containsExactly("Canções de São Paulo");
     }
 
     @Test
-    @DisplayName("Deve buscar álbuns de bandas com paginação")
-    void shouldFindAlbumsByBands() {
-        // Given
-        Pageable pageable = PageRequest.of(0, 10);
-
+    @DisplayName("Deve buscar álbuns por ano de lançamento")
+    void shouldFindAlbumsByReleaseYear() {
         // When
-        Page<Album> page = albumRepository.findAlbumsByBands(pageable);
+        List<Album> found = albumRepository.findByReleaseYear(2020);
 
         // Then
-        assertThat(page.getContent()).hasSize(1);
-        assertThat(page.getContent().get(0).getTitle()).isEqualTo("Band Album");
+        assertThat(found).hasSize(1);
+        assertThat(found.get(0).getTitle()).isEqualTo("Solo Album");
     }
 
     @Test
-    @DisplayName("Deve buscar álbuns de artistas solo com paginação")
-    void shouldFindAlbumsBySoloArtists() {
+    @DisplayName("Deve paginar a discografia do artista por cursor de ID sem repetir itens")
+    void shouldPageArtistDiscographyByKeyset() {
         // Given
-        Pageable pageable = PageRequest.of(0, 10);
+        seedBandAlbums(5);
+        entityManager.flush();
+        entityManager.clear();
+        Pageable limit = PageRequest.of(0, 4);
 
         // When
-        Page<Album> page = albumRepository.findAlbumsBySoloArtists(pageable);
+        Slice<AlbumSimpleResponse> first = albumRepository.findSummariesByArtistAfter(band.getId(), 0L, limit);
+        Long lastId = first.getContent().get(first.getContent().size() - 1).getId();
+        Slice<AlbumSimpleResponse> second = albumRepository.findSummariesByArtistAfter(band.getId(), lastId, limit);
 
         // Then
-        assertThat(page.getContent()).hasSize(1);
-        assertThat(page.getContent().get(0).getTitle()).isEqualTo("Solo Album");
+        assertThat(first.getContent()).hasSize(4);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).hasSize(2);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent()).extracting(AlbumSimpleResponse::getId).allMatch(id -> id > lastId);
+        assertThat(first.getContent()).extracting(AlbumSimpleResponse::getArtistNames).containsOnly("Test Band");
     }
 
     @Test
@@ -211,10 +236,10 @@ class AlbumRepositoryTest {
     }
 
     @Test
-    @DisplayName("Busca por título vazio deve retornar lista vazia")
+    @DisplayName("Busca por título inexistente deve retornar lista vazia")
     void shouldReturnEmptyListForNonExistentTitle() {
         // When
-        List<Album> found = albumRepository.findByTitleContainingIgnoreCase("NonExistent");
+        List<Album> found = albumRepository.searchByTitle("nonexistent");
 
         // Then
         assertThat(found).isEmpty();
@@ -229,4 +254,130 @@ class AlbumRepositoryTest {
         // Then
         assertThat(found).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Listagem completa deve projetar álbuns, artistas e capas em três queries fixas")
+    void shouldLoadFullListingInConstantStatements() {
+        // Given
+        seedBandAlbums(5);
+        long smallCatalogue = countStatements(this::loadFullListing);
+
+        seedBandAlbums(40);
+        long largeCatalogue = countStatements(this::loadFullListing);
+
+        // Then
+        assertThat(smallCatalogue).isEqualTo(3);
+        assertThat(largeCatalogue).isEqualTo(3);
+    }
+
+    private void loadFullListing() {
+        albumRepository.findAllResponses();
+        albumRepository.findAllArtistViews();
+        albumRepository.findAllCoverViews();
+    }
+
+    @Test
+    @DisplayName("Resumo de álbuns deve agregar artistas e primeira capa em uma única query")
+    void shouldLoadAlbumSummariesInSingleStatement() {
+        // Given
+        seedBandAlbums(3);
+        Album collab = albumRepository.save(Album.builder()
+                .title("Collab Album")
+                .artists(new HashSet<>(Set.of(
+                        artistRepository.findById(band.getId()).orElseThrow(),
+                        artistRepository.findById(soloArtist.getId()).orElseThrow())))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        // When
+        Page<AlbumSimpleResponse> bands = albumRepository.findSummaries(true, PageRequest.of(0, 3, Sort.by("title")));
+        List<AlbumSimpleResponse> all = albumRepository.findSummaries(null, PageRequest.of(0, 10, Sort.by("title")))
+                .getContent();
+
+        // Then
+        assertThat(bands.getTotalElements()).isEqualTo(5);
+        assertThat(bands.getContent()).extracting(AlbumSimpleResponse::getTitle)
+                .containsExactly("Band Album", "Collab Album", "Seed Album 0");
+        assertThat(bands.getContent().get(1).getArtistNames()).isEqualTo("Solo Artist, Test Band");
+        assertThat(bands.getContent().get(2).getCoverUrl()).isEqualTo("seed/cover-0.jpg");
+        assertThat(bands.getContent().get(0).getCoverUrl()).isNull();
+        assertThat(all).hasSize(6).extracting(AlbumSimpleResponse::getId).contains(collab.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Busca por lista de IDs deve carregar artistas e capas em lote")
+    void shouldLoadAlbumsByIdsWithBatchedAssociations() {
+        // Given
+        seedBandAlbums(20);
+        List<Long> ids = albumRepository.findAllIds();
+
+        // When
+        long statements = countStatementsLoadingPage(() -> albumRepository.findAllById(ids));
+
+        // Then
+        assertThat(statements).isEqualTo(3);
+    }
+
+    private void seedBandAlbums(int count) {
+        Artist managedBand = artistRepository.findById(band.getId()).orElseThrow();
+
+        for (int i = 0; i < count; i++) {
+            Album album = Album.builder()
+                    .title("Seed Album " + i)
+                    .releaseYear(2000 + i)
+                    .artists(new HashSet<>(Set.of(managedBand)))
+                    .covers(new HashSet<>())
+                    .build();
+
+            album.getCovers().add(AlbumCover.builder()
+                    .album(album)
+                    .fileName("cover-" + i + ".jpg")
+                    .minioKey("seed/cover-" + i + ".jpg")
+                    .contentType("image/jpeg")
+                    .fileSize(1024L)
+                    .build());
+
+            albumRepository.save(album);
+        }
+    }
+
+    private long countStatements(Runnable queries) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        queries.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long countStatementsLoadingPage(Supplier<List<Album>> query) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        for (Album album : query.get()) {
+            album.getArtists().forEach(Artist::getName);
+            album.getCovers().forEach(AlbumCover::getMinioKey);
+        }
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,86 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.CoverBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@ActiveProfiles("test")
+@DisplayName("CoverBlobRepository Integration Tests")
+class CoverBlobRepositoryTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Autowired
+    private CoverBlobRepository coverBlobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persistAndFlush(CoverBlob.builder()
+                .contentHash(HASH)
+                .minioKey("sha256/ab/" + HASH)
+                .contentType("image/png")
+                .fileSize(10L)
+                .refCount(1)
+                .build());
+        entityManager.clear();
+    }
+
+    private int refCount() {
+        entityManager.clear();
+        return coverBlobRepository.findById(HASH).orElseThrow().getRefCount();
+    }
+
+    @Test
+    @DisplayName("Deve somar referências apenas para blobs existentes")
+    void acquire_ShouldIncrementExistingBlobOnly() {
+        // When
+        int existing = coverBlobRepository.acquire(HASH);
+        int missing = coverBlobRepository.acquire("cd".repeat(32));
+
+        // Then
+        assertThat(existing).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(refCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve apagar o blob somente quando a última referência sai")
+    void release_ShouldDeleteOnlyWhenUnreferenced() {
+        // Given
+        coverBlobRepository.acquire(HASH);
+
+        // When
+        coverBlobRepository.release(HASH);
+        int deletedWhileShared = coverBlobRepository.deleteIfUnreferenced(HASH);
+        coverBlobRepository.release(HASH);
+        int deletedAfterLast = coverBlobRepository.deleteIfUnreferenced(HASH);
+
+        // Then
+        assertThat(deletedWhileShared).isZero();
+        assertThat(deletedAfterLast).isEqualTo(1);
+        assertThat(coverBlobRepository.existsById(HASH)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve deixar o contador negativo")
+    void release_ShouldNotGoBelowZero() {
+        // When
+        coverBlobRepository.release(HASH);
+        int second = coverBlobRepository.release(HASH);
+
+        // Then
+        assertThat(second).isZero();
+        assertThat(refCount()).isZero();
+    }
+}
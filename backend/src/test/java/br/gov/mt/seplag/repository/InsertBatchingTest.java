@@ -0,0 +1,110 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.Artist;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Slf4j
+@DisplayName("Inserts em lote com ids por sequência")
+class InsertBatchingTest {
+
+    private static final int ROWS = 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar inserts em lotes JDBC e buscar ids em blocos da sequência")
+    void persist_ShouldBatchInsertsAndPoolSequenceCalls() {
+        // Given
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(Artist.builder().name("Artista " + i).isBand(i % 2 == 0).build());
+        }
+        entityManager.flush();
+
+        // Then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(ROWS / 50 + 1 + ROWS / 50);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: insert linha a linha (IDENTITY) x insert em lote (sequência pooled)")
+    void benchmark_InsertThroughput() {
+        int rows = Integer.getInteger("benchmark.rows", 20_000);
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+        // Aquecimento
+        insertRowByRow(session, 1_000);
+        insertBatched(session, 1_000);
+
+        long rowByRow = insertRowByRow(session, rows);
+        long batched = insertBatched(session, rows);
+
+        log.info("Inserts: {} linhas; linha a linha (como IDENTITY): {} ms; em lote (batch_size=50, sequência pooled): {} ms",
+                rows, rowByRow / 1_000_000, batched / 1_000_000);
+        assertThat(batched).isLessThan(rowByRow);
+    }
+
+    // Com IDENTITY o Hibernate executa o INSERT no persist para obter o id; flush + clear por linha reproduz esse custo
+    private long insertRowByRow(Session session, int rows) {
+        session.setJdbcBatchSize(1);
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            entityManager.persist(Artist.builder().name("Linha " + i).isBand(false).build());
+            entityManager.flush();
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - start;
+        entityManager.clear();
+        return elapsed;
+    }
+
+    private long insertBatched(Session session, int rows) {
+        session.setJdbcBatchSize(50);
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            entityManager.persist(Artist.builder().name("Lote " + i).isBand(false).build());
+            if ((i + 1) % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        long elapsed = System.nanoTime() - start;
+        entityManager.clear();
+        return elapsed;
+    }
+}
@@ -0,0 +1,170 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.dto.AlbumArtistView;
+import br.gov.mt.seplag.dto.AlbumResponse;
+import br.gov.mt.seplag.dto.ArtistResponse;
+import br.gov.mt.seplag.dto.RegionalResponse;
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.entity.Regional;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@ActiveProfiles("test")
+@Slf4j
+@DisplayName("Consultas de projeção em DTO")
+class ProjectionQueriesTest {
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private RegionalRepository regionalRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Artist band = entityManager.persist(Artist.builder().name("Banda").isBand(true).build());
+        Artist solo = entityManager.persist(Artist.builder().name("Solo").isBand(false).build());
+
+        entityManager.persist(Album.builder()
+                .title("Álbum Conjunto")
+                .artists(new HashSet<>(Set.of(band, solo)))
+                .build());
+
+        entityManager.persist(Regional.builder().id(1).nome("Cuiabá").ativo(true).build());
+        entityManager.persist(Regional.builder().id(2).nome("Sinop").ativo(false).build());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private int managedEntities() {
+        return entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount();
+    }
+
+    @Test
+    @DisplayName("Deve listar artistas direto em DTO sem carregar entidades no contexto de persistência")
+    void findResponses_ShouldNotPopulatePersistenceContext() {
+        // When
+        List<ArtistResponse> all = artistRepository.findAllResponses();
+        List<ArtistResponse> bands = artistRepository.findResponsesByIsBand(true);
+        List<RegionalResponse> regionais = regionalRepository.findAllResponses();
+
+        // Then
+        assertThat(all).extracting(ArtistResponse::getName).containsExactly("Banda", "Solo");
+        assertThat(all).extracting(ArtistResponse::getAlbumCount).containsExactly(1L, 1L);
+        assertThat(bands).extracting(ArtistResponse::getName).containsExactly("Banda");
+        assertThat(regionais).extracting(RegionalResponse::getNome).containsExactly("Cuiabá", "Sinop");
+        assertThat(managedEntities()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve preencher a contagem de álbuns nas buscas de artista por ID e por nome")
+    void findResponsesByIdAndName_ShouldIncludeAlbumCount() {
+        // Given
+        Artist lonely = entityManager.persistAndFlush(Artist.builder().name("Sem Álbuns").isBand(false).build());
+        Long bandId = artistRepository.searchResponsesByName("banda").get(0).getId();
+        entityManager.clear();
+
+        // When
+        ArtistResponse band = artistRepository.findResponseById(bandId).orElseThrow();
+        List<ArtistResponse> byIds = artistRepository.findResponsesByIds(List.of(bandId, lonely.getId()));
+
+        // Then
+        assertThat(band.getAlbumCount()).isEqualTo(1L);
+        assertThat(byIds).extracting(ArtistResponse::getId, ArtistResponse::getAlbumCount)
+                .containsExactlyInAnyOrder(tuple(bandId, 1L), tuple(lonely.getId(), 0L));
+        assertThat(artistRepository.findResponseById(-1L)).isEmpty();
+        assertThat(managedEntities()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve projetar álbuns e vínculos com artistas sem entidades gerenciadas")
+    void findAlbumViews_ShouldProjectAlbumsAndArtistLinks() {
+        // When
+        List<AlbumResponse> albums = albumRepository.findAllResponses();
+        List<AlbumArtistView> links = albumRepository.findAllArtistViews();
+
+        // Then
+        assertThat(albums).extracting(AlbumResponse::getTitle).containsExactly("Álbum Conjunto");
+        assertThat(albums.get(0).getArtists()).isEmpty();
+        assertThat(links).hasSize(2).allMatch(link -> link.getAlbumId().equals(albums.get(0).getId()));
+        assertThat(albumRepository.findAllCoverViews()).isEmpty();
+        assertThat(managedEntities()).isZero();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: bytes alocados por listagem (entidades x projeção)")
+    void benchmark_AllocationPerRequest() {
+        int rows = Integer.getInteger("benchmark.rows", 5_000);
+        for (int i = 0; i < rows; i++) {
+            entityManager.persist(Artist.builder().name("Artista " + i).isBand(i % 2 == 0).build());
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Supplier<List<ArtistResponse>> entities = () -> artistRepository.findAll().stream()
+                .map(artist -> ArtistResponse.builder()
+                        .id(artist.getId())
+                        .name(artist.getName())
+                        .isBand(artist.getIsBand())
+                        .createdAt(artist.getCreatedAt())
+                        .updatedAt(artist.getUpdatedAt())
+                        .build())
+                .toList();
+        Supplier<List<ArtistResponse>> projection = artistRepository::findAllResponses;
+
+        for (int i = 0; i < 20; i++) {
+            allocatedBytes(entities);
+            allocatedBytes(projection);
+        }
+
+        long entityBytes = allocatedBytes(entities);
+        long projectionBytes = allocatedBytes(projection);
+
+        log.info("Listagem de {} artistas: entidades + mapeamento {} bytes; projeção em DTO {} bytes",
+                rows + 2, entityBytes, projectionBytes);
+        assertThat(projectionBytes).isLessThan(entityBytes);
+    }
+
+    private long allocatedBytes(Supplier<List<ArtistResponse>> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        listing.get();
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        entityManager.clear();
+        return allocated;
+    }
+}
@@ -0,0 +1,71 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.dto.PageResponse;
+import br.gov.mt.seplag.dto.SearchResultResponse;
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.service.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(SearchService.class)
+@ActiveProfiles("test")
+// A busca consulta artistas e álbuns em threads próprias: os dados precisam estar commitados
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Consultas de candidatos da busca unificada")
+class SearchCandidateQueriesTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @BeforeEach
+    void setUp() {
+        Artist band = artistRepository.save(Artist.builder().name("Legião Urbana").isBand(true).build());
+        artistRepository.save(Artist.builder().name("Cássia Eller").isBand(false).build());
+        albumRepository.save(Album.builder()
+                .title("Legião Urbana (1985)")
+                .artists(new HashSet<>(Set.of(band)))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve buscar candidatos no banco padrão (H2) sem depender de pg_trgm")
+    void search_ShouldRunCandidateQueriesOnDefaultDatabase() {
+        // When
+        PageResponse<SearchResultResponse> result = searchService.search("legiao", 0, 10);
+
+        // Then
+        assertThat(result.getContent())
+                .extracting(SearchResultResponse::getName, SearchResultResponse::getType)
+                .containsExactly(
+                        tuple("Legião Urbana", "ARTIST"),
+                        tuple("Legião Urbana (1985)", "ALBUM"));
+    }
+}
@@ -0,0 +1,133 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.config.HibernateCacheMetricsConfig;
+import br.gov.mt.seplag.entity.Artist;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sem transação do teste: o cache L2 só é populado/invalidado após o commit
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(HibernateCacheMetricsConfig.class)
+@DisplayName("Cache de segundo nível do Hibernate")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterBinder hibernateCacheRegionMetrics;
+
+    private Statistics statistics;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Deve servir artista do cache na segunda leitura por ID")
+    void findById_ShouldHitArtistRegion() {
+        // Given
+        Long id = artistRepository.save(Artist.builder().name("Banda").isBand(true).build()).getId();
+        artistRepository.findById(id);
+        statistics.clear();
+
+        // When
+        Artist artist = artistRepository.findById(id).orElseThrow();
+
+        // Then
+        assertThat(artist.getName()).isEqualTo("Banda");
+        assertThat(statistics.getDomainDataRegionStatistics("artist").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve publicar acertos da região no Micrometer")
+    void regionMetrics_ShouldCountHits() {
+        // Given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        hibernateCacheRegionMetrics.bindTo(registry);
+        Long id = artistRepository.save(Artist.builder().name("Banda").isBand(true).build()).getId();
+        artistRepository.findById(id);
+        double before = registry.get("cache.gets").tags("cache", "artist", "result", "hit").functionCounter().count();
+
+        // When
+        artistRepository.findById(id);
+
+        // Then
+        assertThat(registry.get("cache.gets").tags("cache", "artist", "result", "hit").functionCounter().count())
+                .isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("Deve servir artistas do álbum pelo cache da coleção")
+    void albumArtists_ShouldHitCollectionRegion() {
+        // Given
+        Artist band = artistRepository.save(Artist.builder().name("Banda").isBand(true).build());
+        Long albumId = albumRepository.save(Album.builder()
+                .title("Álbum")
+                .artists(new HashSet<>(Set.of(band)))
+                .build()).getId();
+        loadArtistNames(albumId);
+        statistics.clear();
+
+        // When
+        List<String> names = loadArtistNames(albumId);
+
+        // Then
+        assertThat(names).containsExactly("Banda");
+        assertThat(statistics.getDomainDataRegionStatistics("album-artists").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("artist").getHitCount()).isEqualTo(1);
+    }
+
+    private List<String> loadArtistNames(Long albumId) {
+        return transaction.execute(status -> albumRepository.findById(albumId).orElseThrow()
+                .getArtists()
+                .stream()
+                .map(Artist::getName)
+                .toList());
+    }
+}
@@ -0,0 +1,88 @@
+package br.gov.mt.seplag.repository;
+
+import br.gov.mt.seplag.entity.StorageDeletion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@ActiveProfiles("test")
+@DisplayName("StorageDeletionRepository Integration Tests")
+class StorageDeletionRepositoryTest {
+
+    @Autowired
+    private StorageDeletionRepository storageDeletionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private StorageDeletion persist(String key, LocalDateTime nextAttemptAt) {
+        return entityManager.persist(StorageDeletion.builder()
+                .objectKey(key)
+                .attempts(0)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve trazer apenas remoções vencidas, na ordem de criação e limitadas ao lote")
+    void findDue_ShouldReturnDueRowsInIdOrder() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        StorageDeletion first = persist("10/a.jpg", now.minusMinutes(5));
+        StorageDeletion second = persist("10/b.jpg", now.minusMinutes(1));
+        persist("10/c.jpg", now.minusSeconds(1));
+        persist("10/later.jpg", now.plusMinutes(10));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<StorageDeletion> due = storageDeletionRepository.findDue(now, PageRequest.of(0, 2));
+
+        // Then
+        assertThat(due).extracting(StorageDeletion::getId).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    @DisplayName("Deve descartar só remoções do conteúdo sem reivindicação ativa")
+    void deleteUnclaimed_ShouldKeepActiveClaims() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        String hash = "ab".repeat(32);
+        persistFor(hash, "sha256/ab/pending", null, now.plusMinutes(1));
+        persistFor(hash, "sha256/ab/expired", now.minusMinutes(10), now.minusMinutes(5));
+        StorageDeletion claimed = persistFor(hash, "sha256/ab/claimed", now, now.plusMinutes(5));
+        StorageDeletion other = persistFor("cd".repeat(32), "sha256/cd/other", null, now);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int deleted = storageDeletionRepository.deleteUnclaimed(hash, now);
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(storageDeletionRepository.findAll()).extracting(StorageDeletion::getId)
+                .containsExactlyInAnyOrder(claimed.getId(), other.getId());
+        assertThat(storageDeletionRepository.existsActiveClaim(hash, now)).isTrue();
+        assertThat(storageDeletionRepository.existsActiveClaim(hash, now.plusMinutes(6))).isFalse();
+    }
+
+    private StorageDeletion persistFor(String hash, String key, LocalDateTime claimedAt, LocalDateTime nextAttemptAt) {
+        return entityManager.persist(StorageDeletion.builder()
+                .objectKey(key)
+                .contentHash(hash)
+                .attempts(0)
+                .claimedAt(claimedAt)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+}
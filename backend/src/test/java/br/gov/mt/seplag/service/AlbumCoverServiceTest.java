@@ -1,29 +1,50 @@
 package br.gov.mt.seplag.service;
 
 import br.gov.mt.seplag.dto.AlbumCoverResponse;
+import br.gov.mt.seplag.dto.CoverUploadFinalizeRequest;
+import br.gov.mt.seplag.dto.CoverUploadIntentRequest;
+import br.gov.mt.seplag.dto.CoverUploadIntentResponse;
 import br.gov.mt.seplag.entity.Album;
 import br.gov.mt.seplag.entity.AlbumCover;
+import br.gov.mt.seplag.entity.CoverBlob;
 import br.gov.mt.seplag.exception.BadRequestException;
 import br.gov.mt.seplag.exception.ResourceNotFoundException;
 import br.gov.mt.seplag.repository.AlbumCoverRepository;
 import br.gov.mt.seplag.repository.AlbumRepository;
+import br.gov.mt.seplag.repository.CoverBlobRepository;
+import io.minio.CopyObjectArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
 import io.minio.MinioClient;
+import io.minio.PostPolicy;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import okhttp3.Headers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -43,19 +64,67 @@ class AlbumCoverServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private AlbumCatalogService albumCatalogService;
+
+    @Mock
+    private CoverBlobRepository coverBlobRepository;
+
+    @Mock
+    private CoverVariantService coverVariantService;
+
+    @Mock
+    private StorageCleanupService storageCleanupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Mock
     private MinioClient minioInternalClient;
 
+    @Mock
+    private MinioClient minioPublicClient;
+
     @InjectMocks
     private AlbumCoverService service;
 
+    private static final String CONTENT_HASH = sha256("fake-image-content");
+    private static final String CONTENT_KEY = "sha256/" + CONTENT_HASH.substring(0, 2) + "/" + CONTENT_HASH;
+
     private Album album;
     private AlbumCover cover;
 
+    private static String sha256(String content) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final String UPLOAD_KEY = "10/" + CONTENT_HASH + "/0f8c2b9e-3d4a-4b6c-8e1f-2a3b4c5d6e7f.png";
+
+    // Objeto enviado pelo cliente: stat com tipo, tamanho e ETag, e o conteúdo relido na finalização
+    private void storedUpload(String contentType, long size, String content) throws Exception {
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(stat.contentType()).thenReturn(contentType);
+        when(stat.size()).thenReturn(size);
+        when(stat.etag()).thenReturn("etag-1");
+        when(minioInternalClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+        when(minioInternalClient.getObject(any(GetObjectArgs.class))).thenAnswer(inv -> new GetObjectResponse(
+                Headers.of(), "albums", null, UPLOAD_KEY,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
     @BeforeEach
     void setup() {
         ReflectionTestUtils.setField(service, "bucketName", "albums");
         ReflectionTestUtils.setField(service, "minioPublicUrl", "http://localhost:9000");
+        ReflectionTestUtils.setField(service, "presignedUrlExpiration", 1800L);
+        // Dois MinioClient no construtor: a injeção por tipo não distingue, então fixa cada um pelo nome
+        ReflectionTestUtils.setField(service, "minioInternalClient", minioInternalClient);
+        ReflectionTestUtils.setField(service, "minioPublicClient", minioPublicClient);
 
         album = Album.builder()
                 .id(10L)
@@ -181,9 +250,11 @@ class AlbumCoverServiceTest {
         verify(minioInternalClient).putObject(putCaptor.capture());
         PutObjectArgs putArgs = putCaptor.getValue();
 
+        // Conteúdo novo vai direto para a chave do hash, sem cópia nem objeto temporário
         assertThat(putArgs.bucket()).isEqualTo("albums");
-        assertThat(putArgs.object()).startsWith("10/");
-        assertThat(putArgs.object()).endsWith(".jpg");
+        assertThat(putArgs.object()).isEqualTo(CONTENT_KEY);
+        verify(minioInternalClient, never()).copyObject(any());
+        verify(minioInternalClient, never()).removeObject(any());
 
         // Repository save recebeu uma entidade com os metadados esperados
         ArgumentCaptor<AlbumCover> coverCaptor = ArgumentCaptor.forClass(AlbumCover.class);
@@ -194,15 +265,20 @@ class AlbumCoverServiceTest {
         assertThat(savedEntity.getFileName()).isEqualTo("cover.jpg");
         assertThat(savedEntity.getContentType()).isEqualTo("image/jpeg");
         assertThat(savedEntity.getFileSize()).isEqualTo(file.getSize());
-        assertThat(savedEntity.getMinioKey()).startsWith("10/");
-        assertThat(savedEntity.getMinioKey()).endsWith(".jpg");
+        assertThat(savedEntity.getMinioKey()).isEqualTo(CONTENT_KEY);
+        assertThat(savedEntity.getContentHash()).isEqualTo(CONTENT_HASH);
 
         assertThat(r.getId()).isEqualTo(99L);
         assertThat(r.getAlbumId()).isEqualTo(10L);
-        assertThat(r.getImageUrl()).startsWith("http://localhost:9000/albums/10/");
-        assertThat(r.getImageUrl()).endsWith(".jpg");
+        assertThat(r.getImageUrl()).isEqualTo("http://localhost:9000/albums/" + CONTENT_KEY);
+
+        ArgumentCaptor<CoverBlob> blobCaptor = ArgumentCaptor.forClass(CoverBlob.class);
+        verify(coverBlobRepository).saveAndFlush(blobCaptor.capture());
+        assertThat(blobCaptor.getValue().getRefCount()).isEqualTo(1);
+        assertThat(blobCaptor.getValue().getMinioKey()).isEqualTo(CONTENT_KEY);
 
         verify(notificationService).notifyCoverUploaded(10L, "Hybrid Theory", "diego");
+        verify(coverVariantService).schedule(10L, 99L, CONTENT_HASH);
     }
 
     @Test
@@ -250,20 +326,129 @@ class AlbumCoverServiceTest {
     }
 
     @Test
-    @DisplayName("delete(albumId, coverId) deve remover no MinIO e deletar do banco quando ok")
-    void delete_albumCover_shouldRemoveAndDelete() throws Exception {
-        when(albumCoverRepository.findById(1L)).thenReturn(Optional.of(cover));
+    @DisplayName("uploadCover deve remover o objeto do MinIO quando a gravação dos metadados falhar")
+    void uploadCover_shouldRemoveObjectWhenInsertFails() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "cover.jpg",
+                "image/jpeg",
+                "fake-image-content".getBytes()
+        );
 
-        service.delete(10L, 1L);
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        when(albumCoverRepository.save(any(AlbumCover.class))).thenThrow(new IllegalStateException("db down"));
+
+        assertThatThrownBy(() -> service.uploadCover(10L, file, "diego"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("db down");
+
+        verify(minioInternalClient).putObject(any(PutObjectArgs.class));
 
+        // Remove o objeto recém-gravado, que ficou sem blob
         ArgumentCaptor<RemoveObjectArgs> removeCaptor = ArgumentCaptor.forClass(RemoveObjectArgs.class);
         verify(minioInternalClient).removeObject(removeCaptor.capture());
+        assertThat(removeCaptor.getValue().object()).isEqualTo(CONTENT_KEY);
 
-        RemoveObjectArgs removeArgs = removeCaptor.getValue();
-        assertThat(removeArgs.bucket()).isEqualTo("albums");
-        assertThat(removeArgs.object()).isEqualTo("10/abc.jpg");
+        verify(transactionManager).rollback(any());
+        verify(notificationService, never()).notifyCoverUploaded(anyLong(), anyString(), anyString());
+    }
 
-        verify(albumCoverRepository).delete(cover);
+    @Test
+    @DisplayName("uploadCover deve abrir a transação somente depois do envio ao MinIO")
+    void uploadCover_shouldStoreObjectBeforeOpeningTransaction() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "cover.jpg",
+                "image/jpeg",
+                "fake-image-content".getBytes()
+        );
+
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        when(albumCoverRepository.save(any(AlbumCover.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.uploadCover(10L, file, "diego");
+
+        InOrder inOrder = inOrder(minioInternalClient, transactionManager, albumCoverRepository);
+        inOrder.verify(minioInternalClient).putObject(any(PutObjectArgs.class));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(albumCoverRepository).save(any(AlbumCover.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("uploadCover não deve enviar ao MinIO quando o conteúdo já está armazenado")
+    void uploadCover_shouldSkipStorageWhenContentExists() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "cover.jpg",
+                "image/jpeg",
+                "fake-image-content".getBytes()
+        );
+        AlbumCover sibling = AlbumCover.builder().minioKey(CONTENT_KEY).variantWidths("64,256").build();
+
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        when(coverBlobRepository.existsById(CONTENT_HASH)).thenReturn(true);
+        when(coverBlobRepository.acquire(CONTENT_HASH)).thenReturn(1);
+        when(albumCoverRepository.findFirstByContentHashAndVariantWidthsIsNotNull(CONTENT_HASH))
+                .thenReturn(Optional.of(sibling));
+        when(albumCoverRepository.save(any(AlbumCover.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        AlbumCoverResponse r = service.uploadCover(10L, file, "diego");
+
+        verifyNoInteractions(minioInternalClient);
+        verify(coverBlobRepository, never()).saveAndFlush(any());
+        verify(coverVariantService, never()).schedule(any(), any(), any());
+        assertThat(r.getVariants()).containsKeys(64, 256);
+    }
+
+    @Test
+    @DisplayName("uploadCover deve reenviar o conteúdo se o blob sumir antes do commit")
+    void uploadCover_shouldStoreWhenBlobVanishedBeforeCommit() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "cover.jpg",
+                "image/jpeg",
+                "fake-image-content".getBytes()
+        );
+
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        when(coverBlobRepository.existsById(CONTENT_HASH)).thenReturn(true);
+        when(coverBlobRepository.acquire(CONTENT_HASH)).thenReturn(0);
+        when(albumCoverRepository.save(any(AlbumCover.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.uploadCover(10L, file, "diego");
+
+        ArgumentCaptor<PutObjectArgs> putCaptor = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioInternalClient).putObject(putCaptor.capture());
+        assertThat(putCaptor.getValue().object()).isEqualTo(CONTENT_KEY);
+        verify(coverBlobRepository).saveAndFlush(any(CoverBlob.class));
+    }
+
+    @Test
+    @DisplayName("delete(albumId, coverId) deve agendar a remoção no MinIO e deletar do banco")
+    void delete_albumCover_shouldEnqueueRemovalAndDelete() {
+        when(albumCoverRepository.findById(1L)).thenReturn(Optional.of(cover));
+
+        service.delete(10L, 1L);
+
+        InOrder inOrder = inOrder(storageCleanupService, albumCoverRepository);
+        inOrder.verify(storageCleanupService).releaseCover(cover);
+        inOrder.verify(albumCoverRepository).delete(cover);
+        verify(albumCatalogService).refresh(10L);
+        verifyNoInteractions(minioInternalClient);
+    }
+
+    @Test
+    @DisplayName("findById deve expor URLs das miniaturas por largura")
+    void findById_shouldExposeVariantUrls() {
+        cover.setVariantWidths("256,64");
+        when(albumCoverRepository.findById(1L)).thenReturn(Optional.of(cover));
+
+        AlbumCoverResponse r = service.findById(10L, 1L);
+
+        assertThat(r.getVariants()).containsExactly(
+                entry(64, "http://localhost:9000/albums/10/abc_w64.jpg"),
+                entry(256, "http://localhost:9000/albums/10/abc_w256.jpg"));
     }
 
     @Test
@@ -295,22 +480,8 @@ class AlbumCoverServiceTest {
     }
 
     @Test
-    @DisplayName("delete deve lançar RuntimeException quando MinIO falhar")
-    void delete_albumCover_shouldThrowWhenMinioFails() throws Exception {
-        when(albumCoverRepository.findById(1L)).thenReturn(Optional.of(cover));
-        doThrow(new RuntimeException("boom")).when(minioInternalClient).removeObject(any(RemoveObjectArgs.class));
-
-        assertThatThrownBy(() -> service.delete(10L, 1L))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Erro ao deletar imagem");
-
-        verify(minioInternalClient).removeObject(any(RemoveObjectArgs.class));
-        verify(albumCoverRepository, never()).delete(any());
-    }
-
-    @Test
-    @DisplayName("deleteByAlbumId deve deletar todas as capas")
-    void deleteByAlbumId_shouldDeleteAllCovers() throws Exception {
+    @DisplayName("deleteByAlbumId deve deletar todas as capas sem chamar o MinIO")
+    void deleteByAlbumId_shouldDeleteAllCovers() {
         AlbumCover cover2 = AlbumCover.builder()
                 .id(2L)
                 .album(album)
@@ -325,16 +496,199 @@ class AlbumCoverServiceTest {
 
         service.deleteByAlbumId(10L);
 
-        verify(minioInternalClient, times(2)).removeObject(any(RemoveObjectArgs.class));
+        verify(storageCleanupService).releaseCover(cover);
+        verify(storageCleanupService).releaseCover(cover2);
         verify(albumCoverRepository).delete(cover);
         verify(albumCoverRepository).delete(cover2);
+        verifyNoInteractions(minioInternalClient);
+    }
+
+    @Test
+    @DisplayName("createUploadIntent deve devolver política pré-assinada com chave e tipo fixados")
+    void createUploadIntent_shouldReturnPresignedPostPolicy() throws Exception {
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        when(minioPublicClient.getPresignedPostFormData(any(PostPolicy.class)))
+                .thenReturn(Map.of("policy", "p", "x-amz-signature", "s"));
+
+        CoverUploadIntentResponse intent = service.createUploadIntent(10L, CoverUploadIntentRequest.builder()
+                .fileName("cover.png")
+                .contentType("image/png")
+                .fileSize(2048L)
+                .sha256(CONTENT_HASH.toUpperCase())
+                .build());
+
+        assertThat(intent.getUploadUrl()).isEqualTo("http://localhost:9000/albums");
+        assertThat(intent.getObjectKey()).startsWith("10/" + CONTENT_HASH + "/").endsWith(".png");
+        assertThat(intent.getFormFields())
+                .containsEntry("key", intent.getObjectKey())
+                .containsEntry("Content-Type", "image/png")
+                .containsEntry("x-amz-checksum-sha256",
+                        Base64.getEncoder().encodeToString(HexFormat.of().parseHex(CONTENT_HASH)))
+                .containsEntry("x-amz-signature", "s");
+        assertThat(intent.getExpiresAt()).isAfter(ZonedDateTime.now());
+        verifyNoInteractions(minioInternalClient, albumCoverRepository);
+    }
+
+    @Test
+    @DisplayName("createUploadIntent não deve assinar envio quando o conteúdo já está armazenado")
+    void createUploadIntent_shouldSkipUploadWhenContentExists() {
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        when(coverBlobRepository.existsById(CONTENT_HASH)).thenReturn(true);
+
+        CoverUploadIntentResponse intent = service.createUploadIntent(10L, CoverUploadIntentRequest.builder()
+                .fileName("cover.png")
+                .contentType("image/png")
+                .fileSize(2048L)
+                .sha256(CONTENT_HASH)
+                .build());
+
+        assertThat(intent.isAlreadyStored()).isTrue();
+        assertThat(intent.getObjectKey()).startsWith("10/" + CONTENT_HASH + "/").endsWith(".png");
+        assertThat(intent.getUploadUrl()).isNull();
+        assertThat(intent.getFormFields()).isNull();
+        verifyNoInteractions(minioPublicClient);
+    }
+
+    @Test
+    @DisplayName("createUploadIntent deve rejeitar arquivo que não é imagem sem assinar nada")
+    void createUploadIntent_shouldRejectNonImage() {
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+
+        assertThatThrownBy(() -> service.createUploadIntent(10L, CoverUploadIntentRequest.builder()
+                .fileName("doc.pdf")
+                .contentType("application/pdf")
+                .fileSize(2048L)
+                .sha256(CONTENT_HASH)
+                .build()))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Arquivo deve ser uma imagem");
+
+        verifyNoInteractions(minioPublicClient);
+    }
+
+    @Test
+    @DisplayName("finalizeUpload deve conferir o SHA-256 e registrar a capa com tipo e tamanho lidos do MinIO")
+    void finalizeUpload_shouldRecordCoverFromStoredObject() throws Exception {
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        storedUpload("image/png", 4096L, "fake-image-content");
+        when(albumCoverRepository.save(any(AlbumCover.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        AlbumCoverResponse r = service.finalizeUpload(10L, CoverUploadFinalizeRequest.builder()
+                .objectKey(UPLOAD_KEY)
+                .fileName("cover.png")
+                .build(), "diego");
+
+        assertThat(r.getContentType()).isEqualTo("image/png");
+        assertThat(r.getFileSize()).isEqualTo(4096L);
+        assertThat(r.getImageUrl()).isEqualTo("http://localhost:9000/albums/" + CONTENT_KEY);
+        verify(albumCatalogService).refresh(10L);
+        verify(notificationService).notifyCoverUploaded(10L, "Hybrid Theory", "diego");
+        verify(minioInternalClient, never()).putObject(any());
+
+        // Leitura e cópia presas ao ETag conferido: o cliente não troca o objeto no meio
+        ArgumentCaptor<GetObjectArgs> getCaptor = ArgumentCaptor.forClass(GetObjectArgs.class);
+        verify(minioInternalClient).getObject(getCaptor.capture());
+        assertThat(getCaptor.getValue().matchETag()).isEqualTo("etag-1");
+
+        ArgumentCaptor<CopyObjectArgs> copyCaptor = ArgumentCaptor.forClass(CopyObjectArgs.class);
+        verify(minioInternalClient).copyObject(copyCaptor.capture());
+        assertThat(copyCaptor.getValue().object()).isEqualTo(CONTENT_KEY);
+        assertThat(copyCaptor.getValue().source().object()).isEqualTo(UPLOAD_KEY);
+        assertThat(copyCaptor.getValue().source().matchETag()).isEqualTo("etag-1");
 
         ArgumentCaptor<RemoveObjectArgs> removeCaptor = ArgumentCaptor.forClass(RemoveObjectArgs.class);
-        verify(minioInternalClient, times(2)).removeObject(removeCaptor.capture());
+        verify(minioInternalClient).removeObject(removeCaptor.capture());
+        assertThat(removeCaptor.getValue().object()).isEqualTo(UPLOAD_KEY);
+    }
 
-        List<RemoveObjectArgs> all = removeCaptor.getAllValues();
-        assertThat(all).extracting(RemoveObjectArgs::object)
-                .containsExactlyInAnyOrder("10/abc.jpg", "10/def.png");
+    @Test
+    @DisplayName("finalizeUpload deve rejeitar conteúdo diferente do SHA-256 da chave sem tocar no blob")
+    void finalizeUpload_shouldRejectContentNotMatchingHash() throws Exception {
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        storedUpload("image/png", 4096L, "other-content");
+
+        assertThatThrownBy(() -> service.finalizeUpload(10L, CoverUploadFinalizeRequest.builder()
+                .objectKey(UPLOAD_KEY)
+                .fileName("cover.png")
+                .build(), "diego"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("não confere com o SHA-256");
+
+        verify(minioInternalClient, never()).copyObject(any());
+        ArgumentCaptor<RemoveObjectArgs> removeCaptor = ArgumentCaptor.forClass(RemoveObjectArgs.class);
+        verify(minioInternalClient).removeObject(removeCaptor.capture());
+        assertThat(removeCaptor.getValue().object()).isEqualTo(UPLOAD_KEY);
+        verify(albumCoverRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("finalizeUpload deve registrar conteúdo já armazenado sem ler nem copiar objeto")
+    void finalizeUpload_shouldReuseExistingBlob() throws Exception {
+        CoverBlob blob = CoverBlob.builder()
+                .contentHash(CONTENT_HASH)
+                .minioKey(CONTENT_KEY)
+                .contentType("image/png")
+                .fileSize(4096L)
+                .refCount(1)
+                .build();
+
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        when(coverBlobRepository.findById(CONTENT_HASH)).thenReturn(Optional.of(blob));
+        when(coverBlobRepository.acquire(CONTENT_HASH)).thenReturn(1);
+        when(albumCoverRepository.save(any(AlbumCover.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        AlbumCoverResponse r = service.finalizeUpload(10L, CoverUploadFinalizeRequest.builder()
+                .objectKey(UPLOAD_KEY)
+                .fileName("cover.png")
+                .build(), "diego");
+
+        assertThat(r.getContentType()).isEqualTo("image/png");
+        assertThat(r.getFileSize()).isEqualTo(4096L);
+        verify(minioInternalClient, never()).statObject(any());
+        verify(minioInternalClient, never()).getObject(any());
+        verify(minioInternalClient, never()).copyObject(any());
+        verify(coverBlobRepository, never()).saveAndFlush(any());
+        // Envio feito apesar do intent "já armazenado" é descartado
+        verify(minioInternalClient).removeObject(any(RemoveObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("finalizeUpload deve rejeitar chave de outro álbum")
+    void finalizeUpload_shouldRejectKeyOfAnotherAlbum() {
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+
+        assertThatThrownBy(() -> service.finalizeUpload(10L, CoverUploadFinalizeRequest.builder()
+                .objectKey("11/" + CONTENT_HASH + "/0f8c2b9e-3d4a-4b6c-8e1f-2a3b4c5d6e7f.png")
+                .fileName("cover.png")
+                .build(), "diego"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Chave de objeto inválida");
+
+        verifyNoInteractions(minioInternalClient);
+        verify(albumCoverRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("finalizeUpload deve remover objeto enviado que não é imagem")
+    void finalizeUpload_shouldRemoveObjectWhenStoredTypeIsInvalid() throws Exception {
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(stat.contentType()).thenReturn("text/html");
+        when(stat.size()).thenReturn(100L);
+
+        when(albumRepository.findById(10L)).thenReturn(Optional.of(album));
+        when(minioInternalClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+
+        assertThatThrownBy(() -> service.finalizeUpload(10L, CoverUploadFinalizeRequest.builder()
+                .objectKey(UPLOAD_KEY)
+                .fileName("cover.png")
+                .build(), "diego"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Arquivo deve ser uma imagem");
+
+        ArgumentCaptor<RemoveObjectArgs> removeCaptor = ArgumentCaptor.forClass(RemoveObjectArgs.class);
+        verify(minioInternalClient).removeObject(removeCaptor.capture());
+        assertThat(removeCaptor.getValue().object()).isEqualTo(UPLOAD_KEY);
+        verify(albumCoverRepository, never()).save(any());
     }
 
     @Nested
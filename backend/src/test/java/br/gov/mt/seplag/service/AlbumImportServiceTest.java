@@ -0,0 +1,195 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.AlbumBatchResponse;
+import br.gov.mt.seplag.dto.AlbumBatchResult;
+import br.gov.mt.seplag.dto.AlbumRequest;
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.exception.BadRequestException;
+import br.gov.mt.seplag.repository.ArtistRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlbumImportService Tests")
+class AlbumImportServiceTest {
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private ArtistService artistService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private AutocompleteService autocompleteService;
+
+    @Mock
+    private AlbumCatalogService albumCatalogService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private AlbumImportService albumImportService;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(albumImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(albumImportService, "maxItems", 10);
+
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        lenient().doAnswer(invocation -> {
+            ((Album) invocation.getArgument(0)).setId(sequence.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Album.class));
+    }
+
+    private AlbumRequest request(String title, Long... artistIds) {
+        return AlbumRequest.builder()
+                .title(title)
+                .artistIds(Set.of(artistIds))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve importar em blocos resolvendo os artistas em uma única consulta")
+    void importAll_ShouldPersistInChunksWithSingleArtistLookup() {
+        // Given
+        when(artistRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(Artist.builder().id(1L).build(), Artist.builder().id(2L).build()));
+
+        List<AlbumRequest> requests = List.of(
+                request("A", 1L), request("B", 2L), request("C", 1L, 2L));
+
+        // When
+        AlbumBatchResponse response = albumImportService.importAll(requests, "admin");
+
+        // Then
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(AlbumBatchResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(response.getResults()).allMatch(result -> result.getAlbumId() != null);
+
+        verify(artistRepository, times(1)).findAllById(anyCollection());
+        verify(transactionManager, times(2)).commit(any());
+        verify(notificationService, times(2)).notifyAlbumsImported(anyList(), eq("admin"));
+        verify(notificationService, never()).notifyAlbumCreated(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve reportar falha por item sem interromper o restante do lote")
+    void importAll_ShouldReportInvalidItems() {
+        // Given
+        when(artistRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(Artist.builder().id(1L).build()));
+
+        List<AlbumRequest> requests = List.of(
+                request("A", 1L), request(" ", 1L), request("C", 99L), request("x".repeat(201), 1L));
+
+        // When
+        AlbumBatchResponse response = albumImportService.importAll(requests, "admin");
+
+        // Then
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(AlbumBatchResult::getStatus).containsExactly(
+                AlbumBatchResult.Status.CREATED,
+                AlbumBatchResult.Status.FAILED,
+                AlbumBatchResult.Status.FAILED,
+                AlbumBatchResult.Status.FAILED);
+        assertThat(response.getResults().get(2).getMessage()).contains("99");
+        assertThat(response.getResults().get(3).getMessage()).contains("200 caracteres");
+        verify(entityManager, times(1)).persist(any(Album.class));
+    }
+
+    @Test
+    @DisplayName("Deve marcar todos os itens do bloco como falha quando a gravação falha")
+    void importAll_ShouldFailWholeChunk_WhenFlushFails() {
+        // Given
+        when(artistRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(Artist.builder().id(1L).build()));
+        doThrow(new IllegalStateException("constraint")).doNothing().when(entityManager).flush();
+
+        List<AlbumRequest> requests = List.of(request("A", 1L), request("B", 1L), request("C", 1L));
+
+        // When
+        AlbumBatchResponse response = albumImportService.importAll(requests, "admin");
+
+        // Then
+        assertThat(response.getResults()).extracting(AlbumBatchResult::getStatus).containsExactly(
+                AlbumBatchResult.Status.FAILED,
+                AlbumBatchResult.Status.FAILED,
+                AlbumBatchResult.Status.CREATED);
+        assertThat(response.getResults().get(0).getMessage()).doesNotContain("constraint");
+        verify(transactionManager, times(1)).rollback(any());
+        verify(notificationService, times(1)).notifyAlbumsImported(anyList(), eq("admin"));
+    }
+
+    @Test
+    @DisplayName("Deve ler álbuns em NDJSON")
+    void importNdjson_ShouldParseOneAlbumPerLine() throws Exception {
+        // Given
+        when(artistRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(Artist.builder().id(1L).build()));
+
+        String ndjson = """
+                {"title":"A","artistIds":[1]}
+                {"title":"B","releaseYear":1999,"artistIds":[1]}
+                """;
+
+        // When
+        AlbumBatchResponse response = albumImportService.importNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "admin");
+
+        // Then
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(AlbumBatchResult::getTitle).containsExactly("A", "B");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote acima do limite")
+    void importAll_ShouldRejectOversizedBatch() {
+        // Given
+        List<AlbumRequest> requests = java.util.stream.IntStream.range(0, 11)
+                .mapToObj(i -> request("A" + i, 1L))
+                .toList();
+
+        // When / Then
+        assertThatThrownBy(() -> albumImportService.importAll(requests, "admin"))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(artistRepository);
+    }
+}
@@ -1,27 +1,47 @@
 package br.gov.mt.seplag.service;
 
+import br.gov.mt.seplag.dto.AlbumArtistView;
+import br.gov.mt.seplag.dto.AlbumCoverView;
+import br.gov.mt.seplag.dto.AlbumFilter;
 import br.gov.mt.seplag.dto.AlbumRequest;
 import br.gov.mt.seplag.dto.AlbumResponse;
+import br.gov.mt.seplag.dto.AlbumSimpleResponse;
+import br.gov.mt.seplag.dto.PageResponse;
 import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.AlbumCover;
 import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.exception.BadRequestException;
 import br.gov.mt.seplag.exception.ResourceNotFoundException;
+import br.gov.mt.seplag.repository.AlbumCatalogRepository;
 import br.gov.mt.seplag.repository.AlbumRepository;
 import br.gov.mt.seplag.repository.ArtistRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,9 +54,30 @@ class AlbumServiceTest {
     @Mock
     private ArtistRepository artistRepository;
 
+    @Mock
+    private ArtistService artistService;
+
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private AutocompleteService autocompleteService;
+
+    @Mock
+    private AlbumCatalogService albumCatalogService;
+
+    @Mock
+    private AlbumCatalogRepository albumCatalogRepository;
+
+    @Mock
+    private StorageCleanupService storageCleanupService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
     @InjectMocks
     private AlbumService albumService;
 
@@ -144,22 +185,70 @@ class AlbumServiceTest {
                 .hasMessageContaining("Álbum não encontrado");
     }
 
+    @Test
+    @DisplayName("Deve listar resumo de álbuns convertendo a chave da capa e as miniaturas em URLs públicas")
+    void shouldListAlbumSummaries() {
+        // Given
+        AlbumSimpleResponse summary = AlbumSimpleResponse.builder()
+                .id(1L)
+                .title("Test Album")
+                .artistNames("Test Artist")
+                .coverUrl("1/capa.jpg")
+                .coverVariantWidths("64,256")
+                .build();
+        when(albumRepository.findSummaries(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 100), 1));
+
+        // When
+        PageResponse<AlbumSimpleResponse> response = albumService.findSummaries(true, 0, 500, false);
+
+        // Then
+        assertThat(response.getContent()).hasSize(1);
+        assertThat(response.getContent().get(0).getCoverUrl()).endsWith("/1/capa.jpg").isNotEqualTo("1/capa.jpg");
+        assertThat(response.getContent().get(0).getCoverVariants())
+                .containsOnlyKeys(64, 256)
+                .hasEntrySatisfying(256, url -> assertThat(url).endsWith("/1/capa_w256.jpg"));
+        verify(albumRepository).findSummaries(eq(true), argThat(pageable -> pageable.getPageSize() == 100));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar consulta com ano inicial maior que o final")
+    void shouldRejectInvertedYearRange() {
+        // Given
+        AlbumFilter filter = AlbumFilter.builder().yearFrom(2000).yearTo(1990).build();
+
+        // When & Then
+        assertThatThrownBy(() -> albumService.query(filter, PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(albumCatalogRepository);
+    }
+
     @Test
     @DisplayName("Deve listar todos os álbuns")
     void shouldListAllAlbums() {
         // Given
-        List<Album> albums = Arrays.asList(album);
-        when(albumRepository.findAll()).thenReturn(albums);
+        LocalDateTime now = LocalDateTime.now();
+        when(albumRepository.findAllResponses()).thenReturn(new ArrayList<>(List.of(
+                new AlbumResponse(1L, "Test Album", 2020, now, now),
+                new AlbumResponse(2L, "Other Album", 2021, now, now))));
+        when(albumRepository.findAllArtistViews()).thenReturn(List.of(
+                new AlbumArtistView(1L, 10L, "Test Artist", false, now, now),
+                new AlbumArtistView(2L, 10L, "Test Artist", false, now, now)));
+        when(albumRepository.findAllCoverViews()).thenReturn(List.of(
+                new AlbumCoverView(5L, 1L, "capa.jpg", "1/capa.jpg", "image/jpeg", 100L, null, now)));
 
         // When
         List<AlbumResponse> responses = albumService.findAll();
 
         // Then
         assertThat(responses).isNotNull();
-        assertThat(responses).hasSize(1);
+        assertThat(responses).hasSize(2);
         assertThat(responses.get(0).getTitle()).isEqualTo("Test Album");
-
-        verify(albumRepository).findAll();
+        assertThat(responses.get(0).getArtists()).extracting("name").containsExactly("Test Artist");
+        assertThat(responses.get(0).getCovers()).hasSize(1);
+        assertThat(responses.get(0).getCovers().get(0).getImageUrl()).endsWith("/1/capa.jpg");
+        assertThat(responses.get(1).getArtists()).hasSize(1);
+        assertThat(responses.get(1).getCovers()).isEmpty();
     }
 
     @Test
@@ -192,6 +281,28 @@ class AlbumServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Deve invalidar no cache os artistas antigos e novos ao trocar os artistas do álbum")
+    void shouldEvictPreviousAndNewArtistsOnUpdate() {
+        // Given
+        Artist other = Artist.builder().id(2L).name("Other Artist").isBand(true).albums(new HashSet<>()).build();
+        AlbumRequest updateRequest = AlbumRequest.builder()
+                .title("Test Album")
+                .releaseYear(2024)
+                .artistIds(Set.of(2L))
+                .build();
+
+        when(albumRepository.findById(1L)).thenReturn(Optional.of(album));
+        when(artistRepository.findById(2L)).thenReturn(Optional.of(other));
+        when(albumRepository.save(any(Album.class))).thenReturn(album);
+
+        // When
+        albumService.update(1L, updateRequest, "admin");
+
+        // Then
+        verify(artistService).evictCached(Set.of(1L, 2L));
+    }
+
     @Test
     @DisplayName("Deve lançar ResourceNotFoundException ao atualizar álbum inexistente")
     void shouldThrowResourceNotFoundWhenUpdatingNonExistentAlbum() {
@@ -222,6 +333,7 @@ class AlbumServiceTest {
         // Then
         verify(albumRepository).findById(1L);
         verify(albumRepository).delete(album);
+        verify(albumCatalogService).remove(album.getId());
         verify(notificationService).notifyAlbumDeleted(
                 eq(album.getId()),
                 eq(album.getTitle()),
@@ -229,6 +341,22 @@ class AlbumServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Deve agendar a remoção das capas no MinIO antes de deletar o álbum")
+    void shouldEnqueueCoverRemovalWhenDeletingAlbum() {
+        // Given
+        AlbumCover cover = AlbumCover.builder().id(5L).album(album).minioKey("1/capa.jpg").build();
+        album.getCovers().add(cover);
+        when(albumRepository.findById(1L)).thenReturn(Optional.of(album));
+
+        // When
+        albumService.delete(1L, "admin");
+
+        // Then
+        verify(storageCleanupService).releaseCover(cover);
+        verify(albumRepository).delete(album);
+    }
+
     @Test
     @DisplayName("Deve lançar ResourceNotFoundException ao deletar álbum inexistente")
     void shouldThrowResourceNotFoundWhenDeletingNonExistentAlbum() {
@@ -249,7 +377,7 @@ class AlbumServiceTest {
     @DisplayName("Deve buscar álbuns por título")
     void shouldSearchAlbumsByTitle() {
         // Given
-        when(albumRepository.findByTitleContainingIgnoreCase("Test"))
+        when(albumCatalogRepository.search("test"))
                 .thenReturn(Arrays.asList(album));
 
         // When
@@ -260,7 +388,7 @@ class AlbumServiceTest {
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).getTitle()).contains("Test");
 
-        verify(albumRepository).findByTitleContainingIgnoreCase("Test");
+        verify(albumCatalogRepository).search("test");
     }
 
     @Test
@@ -309,4 +437,66 @@ class AlbumServiceTest {
         verify(artistRepository).findById(1L);
         verify(artistRepository).findById(2L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve exportar álbuns em NDJSON, uma linha por álbum")
+    void shouldExportAlbumsAsNdjson() throws Exception {
+        // Given
+        when(albumRepository.streamAllOrderById()).thenReturn(Stream.of(album));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        albumService.exportAll("ndjson", out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("Test Album");
+        assertThat(objectMapper.readTree(lines[0]).get("artists").get(0).get("name").asText()).isEqualTo("Test Artist");
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Deve exportar álbuns em CSV com cabeçalho e valores escapados")
+    void shouldExportAlbumsAsCsv() throws Exception {
+        // Given
+        album.setTitle("Live, Vol. 1");
+        when(albumRepository.streamAllOrderById()).thenReturn(Stream.of(album));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        albumService.exportAll("csv", out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,title,releaseYear,artists,coverUrls,createdAt,updatedAt");
+        assertThat(lines[1]).startsWith("1,\"Live, Vol. 1\",2024,Test Artist,,");
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResourceNotFoundException ao listar discografia de artista inexistente")
+    void shouldThrowResourceNotFoundWhenListingAlbumsOfNonExistentArtist() {
+        // Given
+        when(artistRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> albumService.findByArtistAfter(99L, null, 20))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Artista não encontrado");
+
+        verify(albumRepository, never()).findSummariesByArtistAfter(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido na discografia do artista")
+    void shouldRejectInvalidDiscographyCursor() {
+        // Given
+        when(artistRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> albumService.findByArtistAfter(1L, "abc", 20))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Cursor inválido");
+    }
+}
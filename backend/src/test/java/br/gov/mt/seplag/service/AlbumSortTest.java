@@ -0,0 +1,45 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AlbumSort Tests")
+class AlbumSortTest {
+
+    @Test
+    @DisplayName("Deve mapear chave da API para coluna indexada com desempate por id")
+    void resolve_ShouldMapKeyToIndexedColumns() {
+        // When
+        Sort sort = AlbumSort.resolve("releaseYear", "desc");
+
+        // Then
+        assertThat(sort).containsExactly(
+                Sort.Order.desc("releaseYear"),
+                Sort.Order.desc("albumId"));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por id sem coluna extra de desempate")
+    void resolve_ShouldSortById() {
+        // When
+        Sort sort = AlbumSort.resolve("ID", "asc");
+
+        // Then
+        assertThat(sort).containsExactly(Sort.Order.asc("albumId"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave de ordenação não suportada")
+    void resolve_ShouldRejectUnsupportedKey() {
+        // When / Then
+        assertThatThrownBy(() -> AlbumSort.resolve("updatedAt", "asc"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("updatedAt")
+                .hasMessageContaining("title, releaseYear, id");
+    }
+}
@@ -2,8 +2,11 @@ package br.gov.mt.seplag.service;
 
 import br.gov.mt.seplag.dto.ArtistRequest;
 import br.gov.mt.seplag.dto.ArtistResponse;
+import br.gov.mt.seplag.dto.BatchGetResponse;
 import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.exception.BadRequestException;
 import br.gov.mt.seplag.exception.ResourceNotFoundException;
+import br.gov.mt.seplag.repository.AlbumRepository;
 import br.gov.mt.seplag.repository.ArtistRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +25,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,6 +41,15 @@ class ArtistServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private AutocompleteService autocompleteService;
+
+    @Mock
+    private AlbumCatalogService albumCatalogService;
+
+    @Mock
+    private AlbumRepository albumRepository;
+
     @InjectMocks
     private ArtistService artistService;
 
@@ -75,6 +88,7 @@ class ArtistServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getName()).isEqualTo("Test Artist");
         assertThat(response.getIsBand()).isFalse();
+        assertThat(response.getAlbumCount()).isZero();
 
         verify(artistRepository).save(any(Artist.class));
         verify(notificationService).notifyArtistCreated(
@@ -135,7 +149,12 @@ class ArtistServiceTest {
     @DisplayName("Deve buscar artista por ID")
     void shouldFindArtistById() {
         // Given
-        when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
+        when(artistRepository.findResponseById(1L)).thenReturn(Optional.of(ArtistResponse.builder()
+                .id(1L)
+                .name("Test Artist")
+                .isBand(false)
+                .albumCount(3L)
+                .build()));
 
         // When
         ArtistResponse response = artistService.findById(1L);
@@ -144,15 +163,16 @@ class ArtistServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(1L);
         assertThat(response.getName()).isEqualTo("Test Artist");
+        assertThat(response.getAlbumCount()).isEqualTo(3L);
 
-        verify(artistRepository).findById(1L);
+        verify(artistRepository).findResponseById(1L);
     }
 
     @Test
     @DisplayName("Deve lançar ResourceNotFoundException ao buscar artista inexistente")
     void shouldThrowResourceNotFoundWhenArtistNotFound() {
         // Given
-        when(artistRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(artistRepository.findResponseById(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> artistService.findById(999L))
@@ -160,12 +180,45 @@ class ArtistServiceTest {
                 .hasMessageContaining("Artista não encontrado");
     }
 
+    @Test
+    @DisplayName("Deve buscar artistas por IDs preservando a ordem e reportando ausentes")
+    void shouldFindArtistsByIdsInRequestOrder() {
+        // Given
+        ArtistResponse first = ArtistResponse.builder().id(1L).name("Test Artist").albumCount(0L).build();
+        ArtistResponse other = ArtistResponse.builder().id(2L).name("Other").albumCount(2L).build();
+        when(artistRepository.findResponsesByIds(List.of(2L, 99L, 1L))).thenReturn(Arrays.asList(first, other));
+
+        // When
+        BatchGetResponse<ArtistResponse> response = artistService.findAllByIds(Arrays.asList(2L, 99L, 1L, 2L));
+
+        // Then
+        assertThat(response.getContent()).extracting(ArtistResponse::getId).containsExactly(2L, 1L);
+        assertThat(response.getMissingIds()).containsExactly(99L);
+        verify(artistRepository, times(1)).findResponsesByIds(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar busca por IDs acima do limite")
+    void shouldRejectTooManyIds() {
+        // Given
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // When & Then
+        assertThatThrownBy(() -> artistService.findAllByIds(ids))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(artistRepository);
+    }
+
     @Test
     @DisplayName("Deve listar todos os artistas")
     void shouldListAllArtists() {
         // Given
-        List<Artist> artists = Arrays.asList(artist);
-        when(artistRepository.findAll()).thenReturn(artists);
+        List<ArtistResponse> artists = Arrays.asList(ArtistResponse.builder()
+                .id(1L)
+                .name("Test Artist")
+                .isBand(false)
+                .build());
+        when(artistRepository.findAllResponses()).thenReturn(artists);
 
         // When
         List<ArtistResponse> responses = artistService.findAll();
@@ -175,7 +228,8 @@ class ArtistServiceTest {
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).getName()).isEqualTo("Test Artist");
 
-        verify(artistRepository).findAll();
+        verify(artistRepository).findAllResponses();
+        verify(artistRepository, never()).findAll();
     }
 
     @Test
@@ -189,12 +243,14 @@ class ArtistServiceTest {
 
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
         when(artistRepository.save(any(Artist.class))).thenReturn(artist);
+        when(albumRepository.findIdsByArtistId(1L)).thenReturn(List.of(10L, 11L));
 
         // When
         ArtistResponse response = artistService.update(1L, updateRequest);
 
         // Then
         assertThat(response).isNotNull();
+        assertThat(response.getAlbumCount()).isEqualTo(2L);
         verify(artistRepository).findById(1L);
         verify(artistRepository).save(any(Artist.class));
     }
@@ -226,6 +282,8 @@ class ArtistServiceTest {
         // Then
         verify(artistRepository).findById(1L);
         verify(artistRepository).delete(artist);
+        verify(albumRepository).findIdsByArtistId(1L);
+        verify(albumCatalogService).refresh(anyList());
     }
 
     @Test
@@ -246,8 +304,8 @@ class ArtistServiceTest {
     @DisplayName("Deve buscar artistas por nome")
     void shouldSearchArtistsByName() {
         // Given
-        when(artistRepository.findByNameContainingIgnoreCase("Test"))
-                .thenReturn(Arrays.asList(artist));
+        when(artistRepository.searchResponsesByName("test"))
+                .thenReturn(List.of(ArtistResponse.builder().id(1L).name("Test Artist").albumCount(0L).build()));
 
         // When
         List<ArtistResponse> responses = artistService.searchByName("Test");
@@ -257,20 +315,20 @@ class ArtistServiceTest {
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).getName()).contains("Test");
 
-        verify(artistRepository).findByNameContainingIgnoreCase("Test");
+        verify(artistRepository).searchResponsesByName("test");
     }
 
     @Test
     @DisplayName("Deve listar apenas bandas")
     void shouldListOnlyBands() {
         // Given
-        Artist band = Artist.builder()
+        ArtistResponse band = ArtistResponse.builder()
                 .id(2L)
                 .name("Test Band")
                 .isBand(true)
                 .build();
 
-        when(artistRepository.findByIsBandTrue()).thenReturn(Arrays.asList(band));
+        when(artistRepository.findResponsesByIsBand(true)).thenReturn(Arrays.asList(band));
 
         // When
         List<ArtistResponse> responses = artistService.findBands();
@@ -280,14 +338,18 @@ class ArtistServiceTest {
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).getIsBand()).isTrue();
 
-        verify(artistRepository).findByIsBandTrue();
+        verify(artistRepository).findResponsesByIsBand(true);
     }
 
     @Test
     @DisplayName("Deve listar apenas artistas solo")
     void shouldListOnlySoloArtists() {
         // Given
-        when(artistRepository.findByIsBandFalse()).thenReturn(Arrays.asList(artist));
+        when(artistRepository.findResponsesByIsBand(false)).thenReturn(Arrays.asList(ArtistResponse.builder()
+                .id(1L)
+                .name("Test Artist")
+                .isBand(false)
+                .build()));
 
         // When
         List<ArtistResponse> responses = artistService.findSoloArtists();
@@ -297,6 +359,6 @@ class ArtistServiceTest {
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).getIsBand()).isFalse();
 
-        verify(artistRepository).findByIsBandFalse();
+        verify(artistRepository).findResponsesByIsBand(false);
     }
 }
\ No newline at end of file
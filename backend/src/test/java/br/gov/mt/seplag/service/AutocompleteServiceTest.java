@@ -0,0 +1,85 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.AutocompleteResponse;
+import br.gov.mt.seplag.dto.SuggestionResponse;
+import br.gov.mt.seplag.repository.AlbumRepository;
+import br.gov.mt.seplag.repository.ArtistRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AutocompleteService Tests")
+class AutocompleteServiceTest {
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private AlbumRepository albumRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AutocompleteService autocompleteService;
+
+    private static SuggestionResponse artist(long id, String name) {
+        return new SuggestionResponse(id, name, AutocompleteService.ARTIST);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o índice na primeira consulta quando ainda não foi carregado")
+    void suggest_ShouldLoadIndex_WhenNotLoadedYet() {
+        // Given
+        when(artistRepository.findAllSuggestions()).thenReturn(List.of(artist(1L, "Queen")));
+        when(albumRepository.findAllSuggestions()).thenReturn(List.of());
+
+        // When
+        AutocompleteResponse first = autocompleteService.suggest("que", 10);
+        AutocompleteResponse second = autocompleteService.suggest("que", 10);
+
+        // Then
+        assertThat(first.getArtists()).extracting(SuggestionResponse::getName).containsExactly("Queen");
+        assertThat(second.getArtists()).extracting(SuggestionResponse::getName).containsExactly("Queen");
+        verify(artistRepository, times(1)).findAllSuggestions();
+    }
+
+    @Test
+    @DisplayName("Recarga deve manter o índice anterior até a troca e preservar alterações feitas durante ela")
+    void rebuild_ShouldServePreviousIndexAndKeepConcurrentChanges() {
+        // Given
+        when(artistRepository.findAllSuggestions())
+                .thenReturn(List.of(artist(1L, "Queen"), artist(2L, "Queens of the Stone Age")))
+                .thenAnswer(invocation -> {
+                    // Consulta durante a recarga ainda enxerga o índice anterior
+                    assertThat(autocompleteService.suggest("queen", 10).getArtists()).hasSize(2);
+
+                    // Remoção e inclusão commitadas depois da leitura do banco
+                    autocompleteService.removeArtist(2L);
+                    autocompleteService.indexArtist(3L, "Queensrÿche");
+                    return List.of(artist(1L, "Queen"), artist(2L, "Queens of the Stone Age"));
+                });
+        when(albumRepository.findAllSuggestions()).thenReturn(List.of());
+        autocompleteService.rebuild();
+
+        // When
+        autocompleteService.rebuild();
+
+        // Then
+        assertThat(autocompleteService.suggest("queen", 10).getArtists())
+                .extracting(SuggestionResponse::getId)
+                .containsExactlyInAnyOrder(1L, 3L);
+    }
+}
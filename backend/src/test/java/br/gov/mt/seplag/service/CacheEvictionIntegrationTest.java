@@ -0,0 +1,253 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.config.CacheConfig;
+import br.gov.mt.seplag.dto.AlbumRequest;
+import br.gov.mt.seplag.dto.AlbumResponse;
+import br.gov.mt.seplag.dto.ArtistRequest;
+import br.gov.mt.seplag.dto.ArtistResponse;
+import br.gov.mt.seplag.entity.Album;
+import br.gov.mt.seplag.entity.Artist;
+import br.gov.mt.seplag.exception.ResourceNotFoundException;
+import br.gov.mt.seplag.repository.AlbumCatalogRepository;
+import br.gov.mt.seplag.repository.AlbumCoverRepository;
+import br.gov.mt.seplag.repository.AlbumRepository;
+import br.gov.mt.seplag.repository.ArtistRepository;
+import br.gov.mt.seplag.repository.CoverBlobRepository;
+import br.gov.mt.seplag.repository.StorageDeletionRepository;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "cover.variants.widths=")
+@ActiveProfiles("test")
+@DisplayName("Cache de álbuns e artistas por ID")
+class CacheEvictionIntegrationTest {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private ArtistService artistService;
+
+    @Autowired
+    private AlbumCoverService albumCoverService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private AlbumRepository albumRepository;
+
+    @SpyBean
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private AlbumCatalogRepository albumCatalogRepository;
+
+    @Autowired
+    private AlbumCoverRepository albumCoverRepository;
+
+    @Autowired
+    private CoverBlobRepository coverBlobRepository;
+
+    @Autowired
+    private StorageDeletionRepository storageDeletionRepository;
+
+    @MockBean(name = "minioInternalClient")
+    private MinioClient minioInternalClient;
+
+    private Artist artist;
+    private Album album;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.ALBUMS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.ARTISTS_CACHE).clear();
+
+        artist = artistRepository.saveAndFlush(Artist.builder().name("Legião Urbana").isBand(true).build());
+        album = albumRepository.saveAndFlush(Album.builder()
+                .title("Dois")
+                .releaseYear(1986)
+                .artists(new HashSet<>(Set.of(artist)))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageDeletionRepository.deleteAll();
+        albumCatalogRepository.deleteAll();
+        albumCoverRepository.deleteAll();
+        coverBlobRepository.deleteAll();
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    private Cache albums() {
+        return cacheManager.getCache(CacheConfig.ALBUMS_CACHE);
+    }
+
+    private Cache artists() {
+        return cacheManager.getCache(CacheConfig.ARTISTS_CACHE);
+    }
+
+    @Test
+    @DisplayName("Segunda busca de álbum por ID deve vir do cache sem consultar o repositório")
+    void albumFindById_ShouldSkipRepository_WhenCached() {
+        // When
+        AlbumResponse first = albumService.findById(album.getId());
+        AlbumResponse second = albumService.findById(album.getId());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(albumRepository, times(1)).findById(album.getId());
+    }
+
+    @Test
+    @DisplayName("Segunda busca de artista por ID deve vir do cache sem consultar o repositório")
+    void artistFindById_ShouldSkipRepository_WhenCached() {
+        // When
+        ArtistResponse first = artistService.findById(artist.getId());
+        ArtistResponse second = artistService.findById(artist.getId());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(artistRepository, times(1)).findResponseById(artist.getId());
+    }
+
+    @Test
+    @DisplayName("Atualização de álbum deve remover a entrada do cache")
+    void albumUpdate_ShouldEvictEntry() {
+        // Given
+        albumService.findById(album.getId());
+        assertThat(albums().get(album.getId())).isNotNull();
+
+        // When
+        albumService.update(album.getId(), AlbumRequest.builder()
+                .title("Dois (Remaster)")
+                .releaseYear(1986)
+                .artistIds(Set.of(artist.getId()))
+                .build(), "tester");
+
+        // Then
+        assertThat(albums().get(album.getId())).isNull();
+        assertThat(albumService.findById(album.getId()).getTitle()).isEqualTo("Dois (Remaster)");
+    }
+
+    @Test
+    @DisplayName("Remoção de álbum deve remover a entrada do cache")
+    void albumDelete_ShouldEvictEntry() {
+        // Given
+        albumService.findById(album.getId());
+
+        // When
+        albumService.delete(album.getId(), "tester");
+
+        // Then
+        assertThat(albums().get(album.getId())).isNull();
+        assertThatThrownBy(() -> albumService.findById(album.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Criação e remoção de álbum devem remover os artistas do cache")
+    void albumInsertAndDelete_ShouldEvictArtists() {
+        // Given
+        assertThat(artistService.findById(artist.getId()).getAlbumCount()).isEqualTo(1);
+
+        // When
+        AlbumResponse created = albumService.insert(AlbumRequest.builder()
+                .title("Que País É Este")
+                .releaseYear(1987)
+                .artistIds(Set.of(artist.getId()))
+                .build(), "tester");
+
+        // Then
+        assertThat(artists().get(artist.getId())).isNull();
+        assertThat(artistService.findById(artist.getId()).getAlbumCount()).isEqualTo(2);
+
+        // When
+        albumService.delete(created.getId(), "tester");
+
+        // Then
+        assertThat(artists().get(artist.getId())).isNull();
+        assertThat(artistService.findById(artist.getId()).getAlbumCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Upload de capa deve remover o álbum do cache")
+    void coverUpload_ShouldEvictAlbumEntry() throws Exception {
+        // Given
+        when(minioInternalClient.putObject(any(PutObjectArgs.class))).thenAnswer(inv -> {
+            inv.getArgument(0, PutObjectArgs.class).stream().transferTo(OutputStream.nullOutputStream());
+            return null;
+        });
+        assertThat(albumService.findById(album.getId()).getCovers()).isEmpty();
+
+        // When
+        albumCoverService.uploadCover(album.getId(),
+                new MockMultipartFile("file", "capa.jpg", "image/jpeg", new byte[]{1, 2, 3}), "tester");
+
+        // Then
+        assertThat(albums().get(album.getId())).isNull();
+        assertThat(albumService.findById(album.getId()).getCovers()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Atualização de artista deve remover o artista e os álbuns do cache")
+    void artistUpdate_ShouldEvictArtistAndAlbums() {
+        // Given
+        artistService.findById(artist.getId());
+        albumService.findById(album.getId());
+
+        // When
+        artistService.update(artist.getId(), ArtistRequest.builder().name("Legião").isBand(true).build());
+
+        // Then
+        assertThat(artists().get(artist.getId())).isNull();
+        assertThat(albums().get(album.getId())).isNull();
+        assertThat(artistService.findById(artist.getId()).getName()).isEqualTo("Legião");
+        assertThat(albumService.findById(album.getId()).getArtists())
+                .extracting(ArtistResponse::getName)
+                .containsExactly("Legião");
+    }
+
+    @Test
+    @DisplayName("Remoção de artista deve remover o artista e os álbuns do cache")
+    void artistDelete_ShouldEvictArtistAndAlbums() {
+        // Given
+        artistService.findById(artist.getId());
+        albumService.findById(album.getId());
+
+        // When
+        artistService.delete(artist.getId());
+
+        // Then
+        assertThat(artists().get(artist.getId())).isNull();
+        assertThat(albums().get(album.getId())).isNull();
+        assertThatThrownBy(() -> artistService.findById(artist.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(albumService.findById(album.getId()).getArtists()).isEmpty();
+    }
+}
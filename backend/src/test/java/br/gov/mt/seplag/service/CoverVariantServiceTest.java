@@ -0,0 +1,141 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.config.CacheConfig;
+import br.gov.mt.seplag.repository.AlbumCoverRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CoverVariantService Tests")
+class CoverVariantServiceTest {
+
+    @Mock
+    private AlbumCoverRepository albumCoverRepository;
+
+    @Mock
+    private MinioClient minioInternalClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private static final String HASH = "ab" + "0".repeat(62);
+    private static final String KEY = "sha256/ab/" + HASH;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CoverVariantService service;
+
+    @BeforeEach
+    void setup() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.ALBUMS_CACHE);
+        service = new CoverVariantService(albumCoverRepository, minioInternalClient, transactionManager,
+                cacheManager, new SimpleMeterRegistry(), "64,256,768", 1, 10, "albums");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    private void stubObject(String key, BufferedImage image) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        when(minioInternalClient.getObject(any(GetObjectArgs.class))).thenReturn(
+                new GetObjectResponse(Headers.of(), "albums", "", key, new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    @DisplayName("Deve gerar apenas larguras menores que o original e registrar na capa")
+    void generate_ShouldStoreSmallerVariantsAndRecordWidths() throws Exception {
+        // Given
+        stubObject(KEY, new BufferedImage(500, 250, BufferedImage.TYPE_INT_ARGB));
+        when(albumCoverRepository.updateVariantWidths(eq(HASH), eq("64,256"), any(LocalDateTime.class))).thenReturn(1);
+        cacheManager.getCache(CacheConfig.ALBUMS_CACHE).put(10L, "cached");
+
+        // When
+        service.generate(10L, 1L, HASH);
+
+        // Then
+        ArgumentCaptor<PutObjectArgs> putCaptor = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioInternalClient, times(2)).putObject(putCaptor.capture());
+        assertThat(putCaptor.getAllValues())
+                .extracting(PutObjectArgs::object)
+                .containsExactly(KEY + "_w64.jpg", KEY + "_w256.jpg");
+        assertThat(putCaptor.getAllValues())
+                .extracting(PutObjectArgs::contentType)
+                .containsOnly("image/jpeg");
+
+        BufferedImage thumbnail = decode(putCaptor.getAllValues().get(0));
+        assertThat(thumbnail.getWidth()).isEqualTo(64);
+        assertThat(thumbnail.getHeight()).isEqualTo(32);
+
+        verify(albumCoverRepository).updateVariantWidths(eq(HASH), eq("64,256"), any(LocalDateTime.class));
+        assertThat(cacheManager.getCache(CacheConfig.ALBUMS_CACHE).get(10L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve remover variantes gravadas quando a capa foi apagada no meio do processo")
+    void generate_ShouldRemoveVariantsWhenCoverIsGone() throws Exception {
+        // Given
+        stubObject(KEY, new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB));
+        when(albumCoverRepository.updateVariantWidths(eq(HASH), eq("64"), any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        service.generate(10L, 1L, HASH);
+
+        // Then
+        ArgumentCaptor<RemoveObjectArgs> removeCaptor = ArgumentCaptor.forClass(RemoveObjectArgs.class);
+        verify(minioInternalClient).removeObject(removeCaptor.capture());
+        assertThat(removeCaptor.getValue().object()).isEqualTo(KEY + "_w64.jpg");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar objetos que não são imagens decodificáveis")
+    void generate_ShouldSkipUndecodableObjects() throws Exception {
+        // Given
+        when(minioInternalClient.getObject(any(GetObjectArgs.class))).thenReturn(
+                new GetObjectResponse(Headers.of(), "albums", "", KEY,
+                        new ByteArrayInputStream("not-an-image".getBytes())));
+
+        // When
+        service.generate(10L, 1L, HASH);
+
+        // Then
+        verify(minioInternalClient, never()).putObject(any(PutObjectArgs.class));
+        verify(albumCoverRepository, never()).updateVariantWidths(anyString(), anyString(), any());
+    }
+
+    private BufferedImage decode(PutObjectArgs args) throws IOException {
+        return ImageIO.read(args.stream());
+    }
+}
@@ -0,0 +1,53 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.SuggestionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PrefixIndex Tests")
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.put(new SuggestionResponse(1L, "The Beatles", "ARTIST"));
+        index.put(new SuggestionResponse(2L, "Beto Guedes", "ARTIST"));
+        index.put(new SuggestionResponse(3L, "João Gilberto", "ARTIST"));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar por prefixo de qualquer palavra, ignorando acentos")
+    void shouldMatchWordPrefixesIgnoringAccents() {
+        assertThat(index.search("BE", 10)).extracting(SuggestionResponse::getId).containsExactly(1L, 2L);
+        assertThat(index.search("joao g", 10)).extracting(SuggestionResponse::getName).containsExactly("João Gilberto");
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite e não repetir o mesmo item")
+    void shouldRespectLimitWithoutDuplicates() {
+        index.put(new SuggestionResponse(4L, "Beatles Beatles", "ARTIST"));
+
+        List<SuggestionResponse> result = index.search("beatles", 10);
+
+        assertThat(result).extracting(SuggestionResponse::getId).containsExactly(1L, 4L);
+        assertThat(index.search("be", 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve refletir atualizações e remoções incrementais")
+    void shouldApplyIncrementalUpdates() {
+        index.put(new SuggestionResponse(2L, "Milton Nascimento", "ARTIST"));
+        index.remove(1L);
+
+        assertThat(index.search("be", 10)).isEmpty();
+        assertThat(index.search("nasc", 10)).extracting(SuggestionResponse::getId).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
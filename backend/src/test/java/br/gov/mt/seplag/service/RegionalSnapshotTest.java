@@ -0,0 +1,71 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.RegionalResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RegionalSnapshot Tests")
+class RegionalSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private RegionalResponse regional(int id, String nome, boolean ativo) {
+        return RegionalResponse.builder().id(id).nome(nome).ativo(ativo).updatedAt(NOW).build();
+    }
+
+    @Test
+    @DisplayName("Deve separar ativas e inativas ordenadas por ID e indexar por ID")
+    void of_ShouldIndexByIdAndSplitByStatus() {
+        // Given
+        List<RegionalResponse> rows = List.of(
+                regional(3, "Sinop", false),
+                regional(1, "Cuiabá", true),
+                regional(2, "Várzea Grande", true));
+
+        // When
+        RegionalSnapshot snapshot = RegionalSnapshot.of(rows);
+
+        // Then
+        assertThat(snapshot.all()).extracting(RegionalResponse::getId).containsExactly(1, 2, 3);
+        assertThat(snapshot.active()).extracting(RegionalResponse::getId).containsExactly(1, 2);
+        assertThat(snapshot.inactive()).extracting(RegionalResponse::getId).containsExactly(3);
+        assertThat(snapshot.byId(2).getNome()).isEqualTo("Várzea Grande");
+        assertThat(snapshot.byId(99)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve buscar por nome normalizado em ordem alfabética")
+    void search_ShouldMatchNormalizedNames() {
+        // Given
+        RegionalSnapshot snapshot = RegionalSnapshot.of(List.of(
+                regional(1, "Cuiabá", true),
+                regional(2, "Várzea Grande", true),
+                regional(3, "Barra do Garças", true)));
+
+        // When
+        List<RegionalResponse> result = snapshot.search("ar");
+
+        // Then
+        assertThat(result).extracting(RegionalResponse::getNome).containsExactly("Barra do Garças", "Várzea Grande");
+    }
+
+    @Test
+    @DisplayName("Deve expor listas imutáveis e mudar o ETag quando o conteúdo muda")
+    void snapshot_ShouldBeImmutableAndVersioned() {
+        // Given
+        RegionalSnapshot before = RegionalSnapshot.of(List.of(regional(1, "Cuiabá", true)));
+        RegionalSnapshot same = RegionalSnapshot.of(List.of(regional(1, "Cuiabá", true)));
+        RegionalSnapshot after = RegionalSnapshot.of(List.of(regional(1, "Cuiabá", false)));
+
+        // When / Then
+        assertThatThrownBy(() -> before.all().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(before.etag()).isEqualTo(same.etag());
+        assertThat(before.etag()).isNotEqualTo(after.etag());
+    }
+}
@@ -0,0 +1,156 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.dto.PageResponse;
+import br.gov.mt.seplag.dto.SearchResultResponse;
+import br.gov.mt.seplag.dto.SuggestionResponse;
+import br.gov.mt.seplag.exception.BadRequestException;
+import br.gov.mt.seplag.repository.AlbumRepository;
+import br.gov.mt.seplag.repository.ArtistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchService Tests")
+class SearchServiceTest {
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private AlbumRepository albumRepository;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchService, "trigramSearch", true);
+    }
+
+    @Test
+    @DisplayName("Deve mesclar artistas e álbuns ordenando exato > prefixo > trecho > aproximado")
+    void shouldMergeAndRankResults() {
+        // Given
+        when(artistRepository.searchSuggestions(eq("queen"), anyInt())).thenReturn(List.of(
+                new SuggestionResponse(1L, "Queen", "ARTIST"),
+                new SuggestionResponse(2L, "Queens of the Stone Age", "ARTIST")));
+        when(albumRepository.searchSuggestions(eq("queen"), anyInt())).thenReturn(List.of(
+                new SuggestionResponse(10L, "Killer Queen", "ALBUM")));
+
+        // When
+        PageResponse<SearchResultResponse> result = searchService.search("Queen", 0, 10);
+
+        // Then
+        assertThat(result.getContent()).extracting(SearchResultResponse::getName)
+                .containsExactly("Queen", "Queens of the Stone Age", "Killer Queen");
+        assertThat(result.getContent()).extracting(SearchResultResponse::getScore)
+                .containsExactly(SearchService.SCORE_EXACT, SearchService.SCORE_PREFIX, SearchService.SCORE_SUBSTRING);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar palavras fora de ordem ou com pequeno erro de digitação como aproximado")
+    void shouldScoreFuzzyMatches() {
+        assertThat(SearchService.score("the dark side of the moon", "moon dark")).isEqualTo(SearchService.SCORE_FUZZY);
+        assertThat(SearchService.score("the dark side of the moon", "dakr moon")).isEqualTo(SearchService.SCORE_FUZZY);
+        assertThat(SearchService.score("the dark side of the moon", "sunny moon")).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve paginar o resultado mesclado")
+    void shouldPaginateMergedResults() {
+        // Given
+        when(artistRepository.searchSuggestions(eq("rock"), anyInt())).thenReturn(List.of(
+                new SuggestionResponse(1L, "Rock A", "ARTIST"),
+                new SuggestionResponse(2L, "Rock B", "ARTIST")));
+        when(albumRepository.searchSuggestions(eq("rock"), anyInt())).thenReturn(List.of(
+                new SuggestionResponse(3L, "Rock C", "ALBUM")));
+
+        // When
+        PageResponse<SearchResultResponse> result = searchService.search("rock", 1, 2);
+
+        // Then
+        assertThat(result.getContent()).extracting(SearchResultResponse::getId).containsExactly(3L);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+        assertThat(result.isLast()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve enviar a consulta inteira ao banco e aceitar candidatos com erro de digitação")
+    void shouldSendWholeQueryAndKeepTypoCandidates() {
+        // Given
+        when(artistRepository.searchSuggestions(eq("metalica"), anyInt())).thenReturn(List.of(
+                new SuggestionResponse(1L, "Metallica", "ARTIST")));
+        when(albumRepository.searchSuggestions(eq("metalica"), anyInt())).thenReturn(List.of());
+
+        // When
+        PageResponse<SearchResultResponse> result = searchService.search("Metalica", 0, 10);
+
+        // Then
+        assertThat(result.getContent()).extracting(SearchResultResponse::getName).containsExactly("Metallica");
+        assertThat(result.getContent()).extracting(SearchResultResponse::getScore)
+                .containsExactly(SearchService.SCORE_FUZZY);
+    }
+
+    @Test
+    @DisplayName("Deve usar busca por trecho sem ordenação para termos curtos demais para trigramas")
+    void shouldUseContainsLookupForShortTerms() {
+        // Given
+        when(artistRepository.findSuggestionsContaining(eq("ac"), any())).thenReturn(List.of(
+                new SuggestionResponse(1L, "AC/DC", "ARTIST")));
+        when(albumRepository.findSuggestionsContaining(eq("ac"), any())).thenReturn(List.of());
+
+        // When
+        PageResponse<SearchResultResponse> result = searchService.search("AC", 0, 10);
+
+        // Then
+        assertThat(result.getContent()).extracting(SearchResultResponse::getId).containsExactly(1L);
+        verify(artistRepository, never()).searchSuggestions(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve usar busca por trecho quando o banco não tem pg_trgm")
+    void shouldUseContainsLookupWithoutTrigramSupport() {
+        // Given
+        ReflectionTestUtils.setField(searchService, "trigramSearch", false);
+        when(artistRepository.findSuggestionsContaining(eq("queen"), any())).thenReturn(List.of(
+                new SuggestionResponse(1L, "Queen", "ARTIST")));
+        when(albumRepository.findSuggestionsContaining(eq("queen"), any())).thenReturn(List.of());
+
+        // When
+        PageResponse<SearchResultResponse> result = searchService.search("Queen", 0, 10);
+
+        // Then
+        assertThat(result.getContent()).extracting(SearchResultResponse::getId).containsExactly(1L);
+        verify(artistRepository, never()).searchSuggestions(anyString(), anyInt());
+        verify(albumRepository, never()).searchSuggestions(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar termo vazio")
+    void shouldRejectBlankQuery() {
+        assertThatThrownBy(() -> searchService.search("  ", 0, 10))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(artistRepository, albumRepository);
+    }
+}
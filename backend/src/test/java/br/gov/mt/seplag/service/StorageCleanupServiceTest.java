@@ -0,0 +1,254 @@
+package br.gov.mt.seplag.service;
+
+import br.gov.mt.seplag.entity.AlbumCover;
+import br.gov.mt.seplag.entity.StorageDeletion;
+import br.gov.mt.seplag.exception.ConflictException;
+import br.gov.mt.seplag.repository.CoverBlobRepository;
+import br.gov.mt.seplag.repository.StorageDeletionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StorageCleanupService Tests")
+class StorageCleanupServiceTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Mock
+    private StorageDeletionRepository storageDeletionRepository;
+
+    @Mock
+    private CoverBlobRepository coverBlobRepository;
+
+    @Mock
+    private MinioClient minioInternalClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StorageCleanupService service;
+
+    @BeforeEach
+    void setup() {
+        service = new StorageCleanupService(storageDeletionRepository, coverBlobRepository, minioInternalClient,
+                transactionManager, new SimpleMeterRegistry(), "albums", 100,
+                Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofMinutes(5));
+    }
+
+    private StorageDeletion deletion(long id, String key, String hash) {
+        return StorageDeletion.builder()
+                .id(id)
+                .objectKey(key)
+                .contentHash(hash)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StorageDeletion> savedDeletions() {
+        ArgumentCaptor<List<StorageDeletion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(storageDeletionRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Deve agendar a remoção do objeto e das miniaturas de uma capa antiga")
+    void releaseCover_ShouldEnqueueLegacyObjectAndVariants() {
+        // Given
+        AlbumCover cover = AlbumCover.builder().minioKey("albums/10/abc.jpg").variantWidths("64,256").build();
+
+        // When
+        service.releaseCover(cover);
+
+        // Then
+        assertThat(savedDeletions())
+                .extracting(StorageDeletion::getObjectKey)
+                .containsExactly("10/abc.jpg", "10/abc_w64.jpg", "10/abc_w256.jpg");
+        verify(coverBlobRepository, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Não deve agendar remoção enquanto outras capas referenciam o conteúdo")
+    void releaseCover_ShouldKeepSharedBlob() {
+        // Given
+        AlbumCover cover = AlbumCover.builder().minioKey("sha256/ab/" + HASH).contentHash(HASH).build();
+        when(coverBlobRepository.findRefCount(HASH)).thenReturn(Optional.of(1));
+
+        // When
+        service.releaseCover(cover);
+
+        // Then
+        verify(coverBlobRepository).release(HASH);
+        verify(storageDeletionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Deve agendar a remoção quando a última referência sai")
+    void releaseCover_ShouldEnqueueOnLastReference() {
+        // Given
+        AlbumCover cover = AlbumCover.builder().minioKey("sha256/ab/" + HASH).contentHash(HASH).build();
+        when(coverBlobRepository.findRefCount(HASH)).thenReturn(Optional.of(0));
+
+        // When
+        service.releaseCover(cover);
+
+        // Then
+        List<StorageDeletion> saved = savedDeletions();
+        assertThat(saved).extracting(StorageDeletion::getObjectKey).containsExactly("sha256/ab/" + HASH);
+        assertThat(saved).extracting(StorageDeletion::getContentHash).containsExactly(HASH);
+    }
+
+    @Test
+    @DisplayName("Deve remover em lote, apagar as linhas concluídas e reagendar falhas com backoff")
+    void drainBatch_ShouldRemoveInBatchAndRescheduleFailures() {
+        // Given
+        StorageDeletion ok = deletion(1L, "10/abc.jpg", null);
+        StorageDeletion failing = deletion(2L, "10/def.jpg", null);
+        when(storageDeletionRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(ok, failing));
+
+        DeleteError error = mock(DeleteError.class);
+        when(error.objectName()).thenReturn("10/def.jpg");
+        when(error.code()).thenReturn("InternalError");
+        when(error.message()).thenReturn("boom");
+        when(minioInternalClient.removeObjects(any(RemoveObjectsArgs.class)))
+                .thenReturn(List.of(new Result<>(error)));
+        when(storageDeletionRepository.findAllById(List.of(2L))).thenReturn(List.of(failing));
+
+        // When
+        int processed = service.drainBatch();
+
+        // Then
+        assertThat(processed).isEqualTo(2);
+        verify(storageDeletionRepository).deleteAllByIdInBatch(List.of(1L));
+        assertThat(failing.getAttempts()).isEqualTo(1);
+        assertThat(failing.getClaimedAt()).isNull();
+        assertThat(failing.getLastError()).isEqualTo("InternalError: boom");
+        assertThat(failing.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+    }
+
+    @Test
+    @DisplayName("Deve descartar a remoção quando o conteúdo voltou a ser referenciado")
+    void drainBatch_ShouldSkipRevivedBlob() {
+        // Given
+        StorageDeletion revived = deletion(1L, "sha256/ab/" + HASH, HASH);
+        when(storageDeletionRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(revived));
+        when(coverBlobRepository.deleteIfUnreferenced(HASH)).thenReturn(0);
+        when(coverBlobRepository.existsById(HASH)).thenReturn(true);
+
+        // When
+        service.drainBatch();
+
+        // Then
+        verify(minioInternalClient, never()).removeObjects(any());
+        verify(storageDeletionRepository).deleteAllInBatch(List.of(revived));
+    }
+
+    @Test
+    @DisplayName("Deve reagendar o lote inteiro quando o MinIO estiver indisponível")
+    void drainBatch_ShouldRescheduleAllWhenMinioFails() {
+        // Given
+        StorageDeletion deletion = deletion(1L, "sha256/ab/" + HASH, HASH);
+        when(storageDeletionRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(deletion));
+        when(coverBlobRepository.deleteIfUnreferenced(HASH)).thenReturn(1);
+        when(minioInternalClient.removeObjects(any(RemoveObjectsArgs.class)))
+                .thenReturn(List.of(new Result<>(new IOException("connection refused"))));
+
+        when(storageDeletionRepository.findAllById(List.of(1L))).thenReturn(List.of(deletion));
+
+        // When
+        service.drainBatch();
+
+        // Then
+        verify(storageDeletionRepository).deleteAllByIdInBatch(List.of());
+        assertThat(deletion.getAttempts()).isEqualTo(1);
+        assertThat(deletion.getLastError()).contains("connection refused");
+    }
+
+    @Test
+    @DisplayName("Deve reivindicar o lote e chamar o MinIO só depois do commit")
+    void drainBatch_ShouldCallMinioOutsideTransaction() {
+        // Given
+        StorageDeletion deletion = deletion(1L, "sha256/ab/" + HASH, HASH);
+        when(storageDeletionRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(deletion));
+        when(coverBlobRepository.deleteIfUnreferenced(HASH)).thenReturn(1);
+        when(minioInternalClient.removeObjects(any(RemoveObjectsArgs.class))).thenAnswer(invocation -> {
+            assertThat(deletion.getClaimedAt()).isNotNull();
+            assertThat(deletion.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(4));
+            return List.of();
+        });
+
+        // When
+        service.drainBatch();
+
+        // Then
+        InOrder order = inOrder(transactionManager, minioInternalClient, storageDeletionRepository);
+        order.verify(transactionManager).commit(any());
+        order.verify(minioInternalClient).removeObjects(any(RemoveObjectsArgs.class));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(storageDeletionRepository).deleteAllByIdInBatch(List.of(1L));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Deve descartar remoções pendentes do conteúdo que voltou a ser gravado")
+    void cancelDeletions_ShouldDeleteUnclaimedRows() {
+        // When
+        service.cancelDeletions(HASH);
+
+        // Then
+        verify(storageDeletionRepository).deleteUnclaimed(eq(HASH), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a gravação enquanto um worker remove o mesmo conteúdo")
+    void cancelDeletions_ShouldRejectWhileClaimed() {
+        // Given
+        when(storageDeletionRepository.existsActiveClaim(eq(HASH), any(LocalDateTime.class))).thenReturn(true);
+
+        // When / Then
+        assertThatThrownBy(() -> service.cancelDeletions(HASH))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Deve dobrar o intervalo a cada tentativa até o limite")
+    void backoff_ShouldGrowExponentiallyUpToMax() {
+        assertThat(service.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(service.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(service.backoff(50)).isEqualTo(Duration.ofMinutes(10));
+    }
+}
@@ -0,0 +1,40 @@
+package br.gov.mt.seplag.util;
+
+import br.gov.mt.seplag.dto.AlbumCoverResponse;
+import br.gov.mt.seplag.dto.AlbumResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ETags Tests")
+class ETagsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private AlbumResponse album(Map<Integer, String> variants) {
+        return AlbumResponse.builder()
+                .id(1L)
+                .updatedAt(NOW)
+                .artists(List.of())
+                .covers(List.of(AlbumCoverResponse.builder().id(5L).variants(variants).build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve mudar o ETag do álbum quando as variantes da capa são geradas")
+    void forAlbum_ShouldChangeWhenCoverVariantsAreAdded() {
+        // Given
+        AlbumResponse before = album(Map.of());
+        AlbumResponse after = album(Map.of(64, "http://localhost/64.jpg", 256, "http://localhost/256.jpg"));
+
+        // When / Then
+        assertThat(ETags.forAlbum(before)).isNotEqualTo(ETags.forAlbum(after));
+        assertThat(ETags.forAlbum(after)).isEqualTo(ETags.forAlbum(
+                album(Map.of(256, "http://localhost/256.jpg", 64, "http://localhost/64.jpg"))));
+    }
+}